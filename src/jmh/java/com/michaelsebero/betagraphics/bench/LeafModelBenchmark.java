@@ -0,0 +1,75 @@
+package com.michaelsebero.betagraphics.bench;
+
+import com.michaelsebero.betagraphics.client.BetaLeavesHelper;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.IBakedModel;
+import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.block.model.ItemOverrideList;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.util.EnumFacing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of BetaLeavesHelper.BetaLeafModel.getQuads, which runs for every leaf
+ * face the chunk builder meshes.
+ *
+ * The wrapped model is a stub returning one BLOCK-format quad per face (the
+ * vanilla leaf cube) so the measurement covers only the wrapper's own work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LeafModelBenchmark {
+
+    private IBakedModel leafModel;
+    private int         face;
+
+    @Setup
+    public void setup() {
+        leafModel = new BetaLeavesHelper.BetaLeafModel(new StubCubeModel());
+    }
+
+    @Benchmark
+    public List<BakedQuad> getQuads() {
+        face = (face + 1) % EnumFacing.VALUES.length;
+        return leafModel.getQuads(null, EnumFacing.VALUES[face], 0L);
+    }
+
+    /** One quad per side, no general quads — the shape of a vanilla leaf model. */
+    private static final class StubCubeModel implements IBakedModel {
+
+        private final List<List<BakedQuad>> quadsBySide = new ArrayList<>();
+
+        StubCubeModel() {
+            for (EnumFacing side : EnumFacing.VALUES) {
+                quadsBySide.add(Collections.singletonList(new BakedQuad(
+                    new int[28], 0, side, null, true, DefaultVertexFormats.BLOCK)));
+            }
+        }
+
+        @Override
+        public List<BakedQuad> getQuads(IBlockState state, EnumFacing side, long rand) {
+            return side == null ? Collections.<BakedQuad>emptyList() : quadsBySide.get(side.ordinal());
+        }
+
+        @Override public boolean isAmbientOcclusion() { return true; }
+        @Override public boolean isGui3d()            { return false; }
+        @Override public boolean isBuiltInRenderer()  { return false; }
+        @Override public TextureAtlasSprite getParticleTexture() { return null; }
+        @Override public ItemCameraTransforms getItemCameraTransforms() { return ItemCameraTransforms.DEFAULT; }
+        @Override public ItemOverrideList getOverrides() { return ItemOverrideList.NONE; }
+    }
+}
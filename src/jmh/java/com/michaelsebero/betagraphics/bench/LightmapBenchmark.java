@@ -0,0 +1,57 @@
+package com.michaelsebero.betagraphics.bench;
+
+import com.michaelsebero.betagraphics.core.BetaLightModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing one Beta lightmap image, as done by
+ * BetaLightmapHelper.generateBetaLightmap.
+ *
+ *   fillLightmap   — full 16×16 recompute from the brightness table
+ *                    (bank build at world load; the per-frame path before banks).
+ *   selectFromBank — steady-state frame path: copy of a prebuilt bank image.
+ *
+ * skylightSubtracted cycles through all 16 values so neither path can be
+ * constant-folded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LightmapBenchmark {
+
+    private final float[] table  = new float[16];
+    private final int[][] bank   = new int[16][256];
+    private final int[]   pixels = new int[256];
+
+    private int skyLightSub;
+
+    @Setup
+    public void setup() {
+        BetaLightModel.fillBrightnessTable(table);
+        for (int sub = 0; sub < 16; sub++) {
+            BetaLightModel.fillLightmap(bank[sub], table, sub);
+        }
+    }
+
+    @Benchmark
+    public int[] fillLightmap() {
+        skyLightSub = (skyLightSub + 1) & 15;
+        BetaLightModel.fillLightmap(pixels, table, skyLightSub);
+        return pixels;
+    }
+
+    @Benchmark
+    public int[] selectFromBank() {
+        skyLightSub = (skyLightSub + 1) & 15;
+        System.arraycopy(bank[skyLightSub], 0, pixels, 0, 256);
+        return pixels;
+    }
+}
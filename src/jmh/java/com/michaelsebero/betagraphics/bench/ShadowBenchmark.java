@@ -0,0 +1,142 @@
+package com.michaelsebero.betagraphics.bench;
+
+import com.michaelsebero.betagraphics.client.BetaShadowGround;
+import com.michaelsebero.betagraphics.client.BetaShadowHelper;
+import com.michaelsebero.betagraphics.core.BetaLightModel;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one frame of entity shadows: BetaShadowHelper.emitShadow for every
+ * caster, including the footprint scan and BetaShadowGroundCache probing,
+ * writing quads into a BufferBuilder.
+ *
+ * The ground is an array-backed BetaShadowGround: a 64 × 64 floor of full
+ * blocks at y = 63 with some slabs (non-full) and dark (light <= 3) spots
+ * mixed in. CASTERS entities stand on it in a 12 × 12 pen, so footprints
+ * overlap as in a mob farm.
+ *
+ *   newFrame  — the cache starts a new generation, as on the first shadow of
+ *               a frame: every block is looked up once, then shared.
+ *   sameFrame — every lookup hits the cache (a second pass in one frame).
+ *
+ * The cache starts a new generation when the frame counter or the ground
+ * source changes; without a client the frame counter never advances, so
+ * newFrame alternates between two identical grounds instead.
+ *
+ * The World-backed source (block state and BetaLightSampler) is not covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShadowBenchmark {
+
+    private static final int CASTERS = 64;
+    private static final int SIZE    = 64;
+    private static final int FLOOR_Y = 63;
+
+    @Param({ "false", "true" })
+    public boolean simplified;
+
+    private final double[] casterX    = new double[CASTERS];
+    private final double[] casterZ    = new double[CASTERS];
+    private final float[]  casterSize = new float[CASTERS];
+
+    private ArrayGround   groundA;
+    private ArrayGround   groundB;
+    private boolean       flip;
+    private BufferBuilder buf;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(1234L);
+        long seed = rand.nextLong();
+        groundA = new ArrayGround(seed);
+        groundB = new ArrayGround(seed);
+
+        // Casters in a 12 × 12 pen near the middle, 0.3 – 0.7 shadow radius.
+        for (int i = 0; i < CASTERS; i++) {
+            casterX[i]    = 26.0D + rand.nextDouble() * 12.0D;
+            casterZ[i]    = 26.0D + rand.nextDouble() * 12.0D;
+            casterSize[i] = 0.3F + rand.nextFloat() * 0.4F;
+        }
+
+        // Sized in ints for the worst case: up to 3 × 3 × 2 quads per caster,
+        // POSITION_TEX_COLOR is 6 ints a vertex.
+        buf = new BufferBuilder(CASTERS * 18 * 4 * 6);
+    }
+
+    @Benchmark
+    public BufferBuilder newFrame() {
+        flip = !flip;
+        return frame(flip ? groundA : groundB);
+    }
+
+    @Benchmark
+    public BufferBuilder sameFrame() {
+        return frame(groundA);
+    }
+
+    private BufferBuilder frame(BetaShadowGround ground) {
+        buf.begin(7 /* GL_QUADS */, DefaultVertexFormats.POSITION_TEX_COLOR);
+        // Camera at (32, 65.6, 32), standing among the casters.
+        for (int i = 0; i < CASTERS; i++) {
+            double ex = casterX[i];
+            double ez = casterZ[i];
+            BetaShadowHelper.emitShadow(buf, ground,
+                ex - 32.0D, FLOOR_Y + 1 - 65.6D, ez - 32.0D,
+                ex, FLOOR_Y + 1, ez,
+                casterSize[i], 1.0F, simplified);
+        }
+        buf.finishDrawing();
+        return buf;
+    }
+
+    /** Stub ground: flags and light levels from arrays over a SIZE × SIZE area. */
+    private static final class ArrayGround implements BetaShadowGround {
+
+        private final byte[]  flags;
+        private final byte[]  light;
+        private final float[] table = new float[16];
+
+        ArrayGround(long seed) {
+            flags = new byte[SIZE * SIZE];
+            light = new byte[SIZE * SIZE];
+            Random rand = new Random(seed);
+            for (int i = 0; i < SIZE * SIZE; i++) {
+                // 1 in 8 slabs, 1 in 16 dark spots.
+                flags[i] = (byte) (rand.nextInt(8) == 0 ? NON_AIR : NON_AIR | FULL);
+                light[i] = (byte) (rand.nextInt(16) == 0 ? 2 : 15);
+            }
+            BetaLightModel.fillBrightnessTable(table);
+        }
+
+        @Override
+        public int groundFlags(int x, int y, int z) {
+            if (y != FLOOR_Y || x < 0 || z < 0 || x >= SIZE || z >= SIZE) return 0;
+            return flags[z * SIZE + x];
+        }
+
+        @Override
+        public int light(int x, int y, int z) {
+            if (x < 0 || z < 0 || x >= SIZE || z >= SIZE) return 15;
+            return light[z * SIZE + x];
+        }
+
+        @Override
+        public float brightness(int light) {
+            return table[light];
+        }
+    }
+}
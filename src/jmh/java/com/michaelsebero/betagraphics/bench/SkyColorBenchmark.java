@@ -0,0 +1,77 @@
+package com.michaelsebero.betagraphics.bench;
+
+import com.michaelsebero.betagraphics.core.BetaCelestialTable;
+import com.michaelsebero.betagraphics.core.BetaLightModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the sky colour kernels that BetaSkyHelper.getBetaSkyColor runs on a
+ * cache miss, with biome temperature, time and weather supplied directly.
+ *
+ *   fullColor      — HSB base colour + time-of-day + weather, the per-call
+ *                    cost before the biome table.
+ *   timeAndWeather — time-of-day (cos) + weather over a precomputed base colour.
+ *   tabulated      — the overworld miss path: BetaCelestialTable brightness
+ *                    lookup + weather over a precomputed base colour.
+ *
+ * Only the kernels are measured. getBetaSkyColor's per-frame memo and the
+ * biome blend (BetaSkyBlendHelper) need a live World and are not covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SkyColorBenchmark {
+
+    /** Plains, desert, taiga, ice plains. */
+    @Param({ "0.8", "2.0", "0.25", "0.0" })
+    public float temperature;
+
+    @Param({ "0.0", "1.0" })
+    public float rain;
+
+    private final float[] out = new float[3];
+
+    private float celestialAngle;
+    private long  worldTime;
+    private int   baseRgb;
+
+    @Setup
+    public void setup() {
+        baseRgb = BetaLightModel.skyBaseColor(temperature);
+        BetaCelestialTable.build();
+    }
+
+    @Benchmark
+    public float[] fullColor() {
+        celestialAngle = (celestialAngle + 0.0001F) % 1.0F;
+        int rgb = BetaLightModel.skyBaseColor(temperature);
+        BetaLightModel.skyColor(rgb, BetaLightModel.celestialBrightness(celestialAngle),
+            rain, rain, out);
+        return out;
+    }
+
+    @Benchmark
+    public float[] timeAndWeather() {
+        celestialAngle = (celestialAngle + 0.0001F) % 1.0F;
+        BetaLightModel.skyColor(baseRgb, BetaLightModel.celestialBrightness(celestialAngle),
+            rain, rain, out);
+        return out;
+    }
+
+    @Benchmark
+    public float[] tabulated() {
+        worldTime += 3L;
+        BetaLightModel.skyColor(baseRgb, BetaCelestialTable.brightness(worldTime, 0.5F),
+            rain, rain, out);
+        return out;
+    }
+}
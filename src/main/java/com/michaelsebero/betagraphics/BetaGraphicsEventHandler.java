@@ -1,14 +1,21 @@
 package com.michaelsebero.betagraphics;
 
 import com.michaelsebero.betagraphics.client.BetaFogHelper;
+import com.michaelsebero.betagraphics.client.BetaFrameTimeHelper;
+import com.michaelsebero.betagraphics.client.BetaIdleHelper;
 import com.michaelsebero.betagraphics.client.BetaLeavesHelper;
+import com.michaelsebero.betagraphics.client.BetaLightSampler;
 import com.michaelsebero.betagraphics.client.BetaLightmapHelper;
+import com.michaelsebero.betagraphics.client.BetaShadowHelper;
+import com.michaelsebero.betagraphics.client.BetaSkyHelper;
+import com.michaelsebero.betagraphics.core.BetaLightModel;
 import net.minecraft.client.Minecraft;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraftforge.client.event.ModelBakeEvent;
+import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.client.event.RenderLivingEvent;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.event.world.BlockEvent;
@@ -25,18 +32,23 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  * Central event handler for Beta Graphics.
  *
  * Responsibilities:
- *   - Patches lightBrightnessTable on every world/dimension load.
+ *   - Patches lightBrightnessTable on every world/dimension load, then has
+ *     BetaLightmapHelper build (or reuse) that dimension's lightmap bank.
  *   - Locks gammaSetting to 0.0F each client tick (Beta had no brightness slider).
  *   - Sets ambientOcclusion = 1 exactly once (on first install) as a default,
  *     then never overrides the player's choice again.
  *   - Calls BetaLightmapHelper.generateBetaLightmap() at 20Hz as a fallback
  *     in case the Mixin injection into updateLightmap does not fire.
  *   - Ticks BetaFogHelper.tickAmbientDarken() each client tick.
+ *   - Throttles the lightmap fallback, ambient-darken ticking, delayed rebuild
+ *     flushing and the dusk/dawn check to once per second while the client is
+ *     idle (paused or unfocused), via BetaIdleHelper.
  *   - Simulates Beta's updateAllRenderers() chunk-invalidation wave when
  *     skylightSubtracted changes.
  *   - Forces cross-chunk VBO rebuilds when light-emitting blocks change.
  *   - Applies GL_FLAT shading around living entity renders.
  *   - Wires BetaLeavesHelper into the model bake pipeline.
+ *   - Reports the frame-time governor's decisions on the F3 screen.
  *
  * Smooth lighting default (changed from original lock):
  *   The original code locked ambientOcclusion = 1 every tick, immediately
@@ -62,9 +74,12 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  *   RenderWorldLastEvent provides a safety-net restore after the full world pass.
  *
  * Dual lightmap correction:
- *   Path A (~60Hz): MixinEntityRenderer injects generateBetaLightmap() before
- *   each return in EntityRenderer.updateLightmap.
+ *   Path A (~60Hz): MixinEntityRenderer calls generateBetaLightmap() from
+ *   EntityRenderer.updateLightmap — at HEAD (cancelling vanilla) in replacement
+ *   mode, or before each return in overwrite mode.
  *   Path B (20Hz): generateBetaLightmap() is called here as a guaranteed fallback.
+ *   Both paths share BetaLightmapHelper's change detection, so Path B does no
+ *   work when Path A has already uploaded the current state.
  *
  * Cross-chunk light fix:
  *   BlockEvent.PlaceEvent / BlockEvent.BreakEvent fire server-side
@@ -107,6 +122,13 @@ public class BetaGraphicsEventHandler {
     private int     prevSkyLightSub     = -1;
     private boolean skyLightInitialized = false;
 
+    /**
+     * Client ticks since the periodic tick work last ran. Normally 1; up to
+     * BetaIdleHelper.IDLE_INTERVAL_TICKS while idle. Pending rebuild countdowns
+     * are decremented by this amount so their delay stays in real ticks.
+     */
+    private int ticksSinceWork = 0;
+
     /**
      * Whether the one-time AO default has been applied this JVM session.
      *
@@ -141,7 +163,7 @@ public class BetaGraphicsEventHandler {
     private final ConcurrentLinkedQueue<PendingRebuild> pendingRebuilds =
         new ConcurrentLinkedQueue<>();
 
-    // ── World load ────────────────────────────────────────────────────────────
+    // ── World load / unload ───────────────────────────────────────────────────
 
     @SubscribeEvent
     public void onWorldLoad(WorldEvent.Load event) {
@@ -149,24 +171,35 @@ public class BetaGraphicsEventHandler {
         patchLightBrightnessTable(world);
 
         if (world.isRemote) {
+            BetaLightmapHelper.prepareBank(world);
             pendingRebuilds.clear();
         }
     }
 
+    /**
+     * Releases the static World, Entity and Chunk references the client helpers
+     * keep as per-frame cache keys, so the unloaded WorldClient can be
+     * collected after a disconnect or dimension change. Each helper rebinds on
+     * its next call.
+     */
+    @SubscribeEvent
+    @SideOnly(Side.CLIENT)
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isRemote) return;
+        BetaLightmapHelper.unbindWorld();
+        BetaSkyHelper.unbindWorld();
+        BetaShadowHelper.unbindWorld();
+        BetaLightSampler.unbindWorld();
+    }
+
     /**
      * Rewrites the world's lightBrightnessTable with Beta's 0.1 ambient floor.
      * Vanilla 1.12.2 uses 0.05, which makes darkness ~50% deeper than Beta and
      * shifts the curve for all subsequent light calculations.
+     * The curve itself lives in BetaLightModel.fillBrightnessTable.
      */
     public static void patchLightBrightnessTable(World world) {
-        final float BETA_AMBIENT = 0.1F;
-        float[] table = world.provider.getLightBrightnessTable();
-        for (int i = 0; i <= 15; i++) {
-            float darkness = 1.0F - (float) i / 15.0F;
-            table[i] = (1.0F - darkness) / (darkness * 3.0F + 1.0F)
-                            * (1.0F - BETA_AMBIENT)
-                            + BETA_AMBIENT;
-        }
+        BetaLightModel.fillBrightnessTable(world.provider.getLightBrightnessTable());
     }
 
     // ── Client tick ───────────────────────────────────────────────────────────
@@ -205,6 +238,26 @@ public class BetaGraphicsEventHandler {
             mc.gameSettings.gammaSetting = BETA_GAMMA;
         }
 
+        // ── Idle throttle ─────────────────────────────────────────────────────
+        //
+        // Everything below is periodic work whose result does not change while
+        // the client is paused or unfocused. On resume, the lightmap is
+        // invalidated so the next generate re-uploads from scratch. Leaving the
+        // world is handled first so a disconnect while idle cannot keep stale
+        // skylight state.
+        BetaIdleHelper.tick(mc);
+        if (BetaIdleHelper.consumeResume()) {
+            BetaLightmapHelper.invalidate();
+        }
+        if (mc.world == null || mc.player == null) {
+            skyLightInitialized = false;
+            prevSkyLightSub = -1;
+        }
+        ticksSinceWork++;
+        if (!BetaIdleHelper.shouldRunTickWork()) return;
+        int elapsedTicks = ticksSinceWork;
+        ticksSinceWork = 0;
+
         if (mc.world != null && mc.entityRenderer != null) {
             BetaLightmapHelper.generateBetaLightmap();
         }
@@ -219,7 +272,7 @@ public class BetaGraphicsEventHandler {
             for (int i = 0; i < toProcess; i++) {
                 PendingRebuild rb = pendingRebuilds.poll();
                 if (rb == null) break;
-                rb.ticksRemaining--;
+                rb.ticksRemaining -= elapsedTicks;
                 if (rb.ticksRemaining <= 0) {
                     markLightRange(mc.world, rb.pos, rb.lightValue);
                 } else {
@@ -228,17 +281,13 @@ public class BetaGraphicsEventHandler {
             }
         }
 
-        if (mc.world == null || mc.player == null) {
-            skyLightInitialized = false;
-            prevSkyLightSub = -1;
-            return;
-        }
+        if (mc.world == null || mc.player == null) return;
 
         BlockPos playerPos = new BlockPos(mc.player);
-        BetaFogHelper.tickAmbientDarken(mc.world, playerPos);
+        BetaFogHelper.tickAmbientDarken(mc.world, playerPos, elapsedTicks);
 
         // Trigger dusk/dawn chunk-invalidation wave when skylightSubtracted changes.
-        int currentSkyLightSub = mc.world.calculateSkylightSubtracted(1.0F);
+        int currentSkyLightSub = BetaSkyHelper.skylightSubtracted(mc.world);
         if (!skyLightInitialized) {
             prevSkyLightSub = currentSkyLightSub;
             skyLightInitialized = true;
@@ -271,6 +320,22 @@ public class BetaGraphicsEventHandler {
         GL11.glShadeModel(GL11.GL_SMOOTH);
     }
 
+    // ── Debug overlay ─────────────────────────────────────────────────────────
+
+    /**
+     * Adds the frame-time governor's state and the fog state cache's skip count
+     * to the left column of the F3 screen.
+     */
+    @SubscribeEvent
+    @SideOnly(Side.CLIENT)
+    public void onDebugOverlay(RenderGameOverlayEvent.Text event) {
+        if (!Minecraft.getMinecraft().gameSettings.showDebugInfo) return;
+        if (BetaGraphicsMod.isFrameGovernorEnabled()) {
+            event.getLeft().add(BetaFrameTimeHelper.getDebugLine());
+        }
+        event.getLeft().add(BetaFogHelper.getDebugLine());
+    }
+
     // ── Cross-chunk block light fix ───────────────────────────────────────────
 
     @SubscribeEvent
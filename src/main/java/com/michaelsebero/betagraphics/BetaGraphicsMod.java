@@ -1,9 +1,12 @@
 package com.michaelsebero.betagraphics;
 
+import com.michaelsebero.betagraphics.client.BetaSkyHelper;
+import com.michaelsebero.betagraphics.core.BetaCelestialTable;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.config.Configuration;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.relauncher.Side;
 
@@ -26,6 +29,8 @@ import java.io.File;
  *       finalLight   = max(effectiveSky, blockLight)
  *       brightness   = lightBrightnessTable[finalLight]   (neutral white)
  *     No torch colour tint, no per-frame interpolation, no gamma curve.
+ *     With replaceVanillaLightmap=true (default) vanilla's generation is
+ *     cancelled at HEAD, so only the Beta lightmap is computed and uploaded.
  *
  *  3. Gamma lock
  *     gammaSetting is locked to 0.0F each tick. Beta had no brightness slider.
@@ -62,14 +67,22 @@ import java.io.File;
  *  7. Ambient fog darkening
  *     Restores Beta's fogColor1/fogColor2 system. Each tick, betaFogDarken
  *     smoothly tracks getLightBrightness at the player's position (0.1 in a cave,
- *     1.0 in full daylight). Each frame the GL clear colour is multiplied by the
- *     partial-tick-interpolated factor, darkening the entire atmospheric backdrop
- *     underground — not just individual block faces.
+ *     1.0 in full daylight). Each frame the fog/clear colour is multiplied by the
+ *     partial-tick-interpolated factor, darkening the entire atmospheric
+ *     backdrop underground — not just individual block faces.
+ *     With replaceVanillaFogColor=true (default) the whole fog colour is computed
+ *     by Beta's updateFogColor formula on the CPU and vanilla's is cancelled;
+ *     otherwise vanilla's colour is captured and darkened. The fog path never
+ *     reads colour state back from GL.
  *
  *  8. Shadow light threshold
  *     Render.renderShadow is replaced: shadows only draw where light > 3,
  *     matching Beta's Render.java line 118 hard cutoff. Shadow opacity also
  *     scales with getLightBrightness using the patched brightness table.
+ *     All shadows of an entity pass are batched into one draw call
+ *     (shadowBatching=true). Shadows can be cut off at a configurable
+ *     distance, capped per frame (batched ones nearest first) and, opt-in,
+ *     drawn as a single quad past a given distance (category "shadows").
  *
  *  9. Flat shading for entity lighting
  *     GL_FLAT is applied before each living entity render (RenderLivingEvent.Pre)
@@ -80,6 +93,25 @@ import java.io.File;
  *     Forces client VBO rebuild across chunk boundaries when light-emitting blocks
  *     are placed or removed.
  *
+ * 11. Fog-saturation culling
+ *     Entities, tile entities and particles whose nearest point lies past the
+ *     distance where the current fog is fully opaque are not drawn at all —
+ *     they would be rendered as solid fog colour anyway (fogCulling=true).
+ *     While submerged, terrain chunks are limited to the same radius
+ *     (submergedTerrainClamp=true).
+ *
+ * 12. Frame-time governor (opt-in)
+ *     Steps the effective render distance down/up to hold a target frame time,
+ *     sliding Beta's fog with it so distant terrain fades rather than pops.
+ *     Its state is shown on the F3 screen.
+ *
+ * 13. Beta sky renderer
+ *     RenderGlobal.renderSky is replaced in surface worlds by BetaSkyRenderer:
+ *     Beta's sky plane, void plane, full moon, stars and sunrise fan, all built
+ *     once as static VBOs/display lists (betaSkyRenderer=true).
+ *     Fast clouds are likewise Beta's flat layer from one cached mesh, scrolled
+ *     by a texture-matrix translation (betaClouds=true).
+ *
  * Required asset override:
  *   Beta's vignette has a dark centre that brightens toward screen edges — the
  *   opposite of vanilla. Place the provided vignette.png at:
@@ -104,15 +136,91 @@ public class BetaGraphicsMod {
     /**
      * Forge configuration file: config/betagraphics.cfg
      *
-     * Contains a single flag, "aoDefaultApplied", that records whether this mod
-     * has already set the one-time AO default. Persists across game restarts so
-     * subsequent launches never override the user's chosen smooth lighting value.
+     * Categories:
+     *   defaults    — "aoDefaultApplied", whether this mod has already set the
+     *                 one-time AO default. Persists across restarts so later
+     *                 launches never override the user's smooth lighting choice.
+     *   lighting    — lightmap/fog colour replacement, sky biome blend, Beta sky
+     *                 renderer and clouds.
+     *   performance — idle throttle, fog culling, submerged terrain clamp and
+     *                 shadow batching.
+     *   shadows     — shadow LOD distance, far cutoff and per-frame budget.
+     *   governor    — the opt-in frame-time governor.
+     * Everything except "defaults" is read once in syncRenderOptions() and
+     * cached in the static fields below.
      */
     private static Configuration config;
 
     private static final String CFG_CATEGORY = "defaults";
     private static final String CFG_KEY_AO   = "aoDefaultApplied";
 
+    private static final String CFG_CATEGORY_LIGHTING   = "lighting";
+    private static final String CFG_KEY_REPLACE_LIGHTMAP = "replaceVanillaLightmap";
+
+    private static final String CFG_KEY_REPLACE_FOG_COLOR = "replaceVanillaFogColor";
+    private static final String CFG_KEY_SKY_BIOME_BLEND   = "skyBiomeBlend";
+    private static final String CFG_KEY_BETA_SKY_RENDERER = "betaSkyRenderer";
+    private static final String CFG_KEY_BETA_CLOUDS       = "betaClouds";
+
+    private static final String CFG_CATEGORY_PERFORMANCE = "performance";
+    private static final String CFG_KEY_IDLE_THROTTLE    = "idleThrottle";
+    private static final String CFG_KEY_FOG_CULLING      = "fogCulling";
+    private static final String CFG_KEY_SUBMERGED_CLAMP  = "submergedTerrainClamp";
+    private static final String CFG_KEY_SHADOW_BATCHING  = "shadowBatching";
+
+    private static final String CFG_CATEGORY_SHADOWS     = "shadows";
+    private static final String CFG_KEY_SHADOW_LOD_NEAR  = "lodNearDistance";
+    private static final String CFG_KEY_SHADOW_FAR       = "farDistance";
+    private static final String CFG_KEY_SHADOW_BUDGET    = "budget";
+
+    private static final String CFG_CATEGORY_GOVERNOR    = "governor";
+    private static final String CFG_KEY_GOVERNOR_ENABLED = "enabled";
+    private static final String CFG_KEY_TARGET_FRAME_MS  = "targetFrameTimeMs";
+    private static final String CFG_KEY_GOVERNOR_MIN     = "minChunks";
+    private static final String CFG_KEY_GOVERNOR_MAX     = "maxChunks";
+
+    /**
+     * Cached copy of "replaceVanillaLightmap". Read on every frame by
+     * MixinEntityRenderer, so it is held in a field rather than looked up in the
+     * Configuration each call. Defaults to true if the config never loads.
+     */
+    private static volatile boolean replaceVanillaLightmap = true;
+
+    /** Cached copy of "replaceVanillaFogColor". Read every frame by MixinEntityRenderer. */
+    private static volatile boolean replaceVanillaFogColor = true;
+
+    /** Cached copy of "skyBiomeBlend". Read once per frame by BetaSkyHelper. */
+    private static volatile boolean skyBiomeBlend = true;
+
+    /** Cached copy of "betaSkyRenderer". Read every frame by MixinRenderGlobal. */
+    private static volatile boolean betaSkyRenderer = true;
+
+    /** Cached copy of "betaClouds". Read every frame by MixinRenderGlobal. */
+    private static volatile boolean betaClouds = true;
+
+    /** Cached copy of "idleThrottle". Read every client tick by BetaIdleHelper. */
+    private static volatile boolean idleThrottle = true;
+
+    /** Cached copy of "fogCulling". Read per entity/particle by BetaFogCullHelper. */
+    private static volatile boolean fogCulling = true;
+
+    /** Cached copy of "submergedTerrainClamp". Read once per frame. */
+    private static volatile boolean submergedClamp = true;
+
+    /** Cached copy of "shadowBatching". Read once per entity pass by BetaShadowBatcher. */
+    private static volatile boolean shadowBatching = true;
+
+    /** Cached copies of the "shadows" category. Read per shadow by BetaShadowHelper. */
+    private static volatile float shadowLodNearDistance = 16.0F;
+    private static volatile float shadowFarDistance     = 16.0F;
+    private static volatile int   shadowBudget          = 256;
+
+    /** Cached copies of the "governor" category. Read once per frame by BetaFrameTimeHelper. */
+    private static volatile boolean frameGovernor     = false;
+    private static volatile float   targetFrameTimeMs = 16.7F;
+    private static volatile int     governorMinChunks = 4;
+    private static volatile int     governorMaxChunks = 32;
+
     /**
      * Returns true if the one-time AO default has already been written during a
      * previous session. When false, the event handler will set ambientOcclusion=1
@@ -138,6 +246,181 @@ public class BetaGraphicsMod {
             + "Future changes by the player will be respected.");
     }
 
+    /**
+     * Returns true if vanilla's updateLightmap should be cancelled at HEAD and
+     * replaced outright by the Beta lightmap (one computation, one upload).
+     * When false, vanilla runs first and the Beta lightmap overwrites it at RETURN.
+     */
+    public static boolean isLightmapReplacementEnabled() {
+        return replaceVanillaLightmap;
+    }
+
+    /**
+     * Returns true if vanilla's updateFogColor should be cancelled at HEAD and the
+     * fog/clear colour computed entirely by Beta's formula. When false, vanilla
+     * computes the colour and the Beta ambient factor is applied on top.
+     */
+    public static boolean isFogColorReplacementEnabled() {
+        return replaceVanillaFogColor;
+    }
+
+    /**
+     * Returns true if the Beta sky colour should be blended across the biomes
+     * around the player instead of snapping to the biome underfoot.
+     */
+    public static boolean isSkyBiomeBlendEnabled() {
+        return skyBiomeBlend;
+    }
+
+    /**
+     * Returns true if the overworld sky should be drawn by BetaSkyRenderer from
+     * cached geometry instead of vanilla's renderSky.
+     */
+    public static boolean isBetaSkyRendererEnabled() {
+        return betaSkyRenderer;
+    }
+
+    /**
+     * Returns true if fast clouds should be drawn by BetaCloudRenderer as Beta's
+     * flat layer from a cached mesh instead of vanilla's renderClouds.
+     */
+    public static boolean isBetaCloudsEnabled() {
+        return betaClouds;
+    }
+
+    /**
+     * Returns true if periodic Beta work should drop to a once-per-second cadence
+     * while the game is paused or the window is unfocused or minimised.
+     */
+    public static boolean isIdleThrottleEnabled() {
+        return idleThrottle;
+    }
+
+    /**
+     * Returns true if entities, tile entities and particles lying entirely inside
+     * fully opaque fog should be skipped instead of drawn.
+     */
+    public static boolean isFogCullingEnabled() {
+        return fogCulling;
+    }
+
+    /**
+     * Returns true if terrain should be limited to the fog visibility radius
+     * while the camera is under water or in lava.
+     */
+    public static boolean isSubmergedClampEnabled() {
+        return submergedClamp;
+    }
+
+    /**
+     * Returns true if the Beta shadows of each entity pass should be collected
+     * and drawn with a single draw call at the end of the pass.
+     */
+    public static boolean isShadowBatchingEnabled() {
+        return shadowBatching;
+    }
+
+    /** Camera distance, in blocks, beyond which shadows use the single-quad LOD. */
+    public static float getShadowLodNearDistance() {
+        return shadowLodNearDistance;
+    }
+
+    /** Camera distance, in blocks, beyond which no shadow is drawn. */
+    public static float getShadowFarDistance() {
+        return shadowFarDistance;
+    }
+
+    /** Most batched shadows drawn per frame, nearest first; 0 means no limit. */
+    public static int getShadowBudget() {
+        return shadowBudget;
+    }
+
+    /**
+     * Returns true if the frame-time governor may pull the render distance and
+     * Beta fog in (and back out) to hold the target frame time.
+     */
+    public static boolean isFrameGovernorEnabled() {
+        return frameGovernor;
+    }
+
+    /** Frame time in milliseconds the governor aims for. */
+    public static float getTargetFrameTimeMs() {
+        return targetFrameTimeMs;
+    }
+
+    /** Lowest distance, in chunks, the governor will step down to. */
+    public static int getGovernorMinChunks() {
+        return governorMinChunks;
+    }
+
+    /** Highest distance, in chunks, the governor will step up to; the video setting still caps it. */
+    public static int getGovernorMaxChunks() {
+        return governorMaxChunks;
+    }
+
+    /**
+     * Reads every per-frame option into its cached field.
+     * Called once from preInit after the config file has been loaded.
+     */
+    private static void syncRenderOptions() {
+        replaceVanillaLightmap = config.getBoolean(CFG_KEY_REPLACE_LIGHTMAP, CFG_CATEGORY_LIGHTING, true,
+            "Cancel vanilla's lightmap generation and upload only the Beta lightmap. "
+            + "Set to false to let vanilla run first and overwrite its result instead "
+            + "(compatibility fallback for mods that also hook updateLightmap).");
+        replaceVanillaFogColor = config.getBoolean(CFG_KEY_REPLACE_FOG_COLOR, CFG_CATEGORY_LIGHTING, true,
+            "Compute the fog and sky clear colour with Beta's formula and skip vanilla's "
+            + "updateFogColor. Set to false to keep vanilla's colour (and its FogColors "
+            + "event) and only apply Beta's ambient darkening on top.");
+        skyBiomeBlend = config.getBoolean(CFG_KEY_SKY_BIOME_BLEND, CFG_CATEGORY_LIGHTING, true,
+            "Blend the Beta sky colour across nearby biomes so it changes smoothly at "
+            + "biome borders. Set to false for Beta's exact behaviour (colour of the "
+            + "biome underfoot only).");
+        betaSkyRenderer = config.getBoolean(CFG_KEY_BETA_SKY_RENDERER, CFG_CATEGORY_LIGHTING, true,
+            "Draw the overworld sky (sky plane, sunrise, sun, moon, stars) the way Beta "
+            + "did, from geometry built once into VBOs or display lists. Set to false "
+            + "to use vanilla's sky renderer.");
+        betaClouds = config.getBoolean(CFG_KEY_BETA_CLOUDS, CFG_CATEGORY_LIGHTING, true,
+            "Draw fast clouds as Beta's flat cloud layer, tinted with Beta's cloud colour "
+            + "and faded by the sky fog, from a mesh built once. Fancy clouds are not "
+            + "affected. Set to false to use vanilla's cloud renderer.");
+        idleThrottle = config.getBoolean(CFG_KEY_IDLE_THROTTLE, CFG_CATEGORY_PERFORMANCE, true,
+            "While the game is paused or the window is unfocused or minimised, run "
+            + "lightmap regeneration, ambient darkening and delayed chunk rebuilds once "
+            + "per second instead of every tick/frame.");
+        fogCulling = config.getBoolean(CFG_KEY_FOG_CULLING, CFG_CATEGORY_PERFORMANCE, true,
+            "Skip drawing entities, tile entities and particles that lie entirely "
+            + "beyond the distance where Beta's fog becomes fully opaque (render "
+            + "distance in air, a few blocks in water or lava).");
+        submergedClamp = config.getBoolean(CFG_KEY_SUBMERGED_CLAMP, CFG_CATEGORY_PERFORMANCE, true,
+            "While the camera is under water or in lava, only draw and rebuild terrain "
+            + "chunks within the distance Beta's underwater/lava fog leaves visible.");
+        shadowBatching = config.getBoolean(CFG_KEY_SHADOW_BATCHING, CFG_CATEGORY_PERFORMANCE, true,
+            "Collect the Beta shadows of all entities into one buffer and draw them with "
+            + "a single draw call after the entity pass, instead of one per entity.");
+
+        shadowLodNearDistance = config.getFloat(CFG_KEY_SHADOW_LOD_NEAR, CFG_CATEGORY_SHADOWS,
+            16.0F, 0.0F, 16.0F, "Camera distance, in blocks, beyond which an entity's shadow is drawn "
+            + "as a single quad at its feet instead of Beta's per-block footprint. The quad "
+            + "is not clipped to block edges, so it can overhang ledges. 16 = off.");
+        shadowFarDistance = config.getFloat(CFG_KEY_SHADOW_FAR, CFG_CATEGORY_SHADOWS, 16.0F,
+            0.0F, 16.0F, "Camera distance, in blocks, beyond which no shadow is drawn. Beta's "
+            + "own fade already ends shadows at 16 blocks.");
+        shadowBudget = config.getInt(CFG_KEY_SHADOW_BUDGET, CFG_CATEGORY_SHADOWS, 256, 0, 4096,
+            "Most shadows drawn per frame. Batched shadows keep the nearest ones; shadows "
+            + "drawn outside the batch count in call order. 0 = no limit.");
+
+        frameGovernor = config.getBoolean(CFG_KEY_GOVERNOR_ENABLED, CFG_CATEGORY_GOVERNOR, false,
+            "Adapt the effective render distance to hold targetFrameTimeMs. Distant terrain "
+            + "fades into Beta fog before it is dropped, so changes do not pop. The video "
+            + "setting stays the upper bound.");
+        targetFrameTimeMs = config.getFloat(CFG_KEY_TARGET_FRAME_MS, CFG_CATEGORY_GOVERNOR, 16.7F,
+            4.0F, 100.0F, "Frame time, in milliseconds, the governor aims for (16.7 = 60 FPS).");
+        governorMinChunks = config.getInt(CFG_KEY_GOVERNOR_MIN, CFG_CATEGORY_GOVERNOR, 4, 2, 32,
+            "Lowest render distance, in chunks, the governor may step down to.");
+        governorMaxChunks = config.getInt(CFG_KEY_GOVERNOR_MAX, CFG_CATEGORY_GOVERNOR, 32, 2, 32,
+            "Highest render distance, in chunks, the governor may step up to.");
+    }
+
     // ── FML events ────────────────────────────────────────────────────────────
 
     /**
@@ -155,6 +438,7 @@ public class BetaGraphicsMod {
         // Eagerly read the flag so the backing Property object is initialised and
         // the config file is written to disk on first run (with the comment block).
         boolean alreadyApplied = isAoDefaultApplied();
+        syncRenderOptions();
         if (config.hasChanged()) config.save();
 
         System.out.println("[BetaGraphics] Config loaded. aoDefaultApplied=" + alreadyApplied);
@@ -168,4 +452,16 @@ public class BetaGraphicsMod {
 
         System.out.println("[BetaGraphics] Registered event handler.");
     }
+
+    /**
+     * Post-init: every mod has registered its biomes by now, so the per-biome
+     * Beta sky colour table can be filled in one pass.
+     */
+    @Mod.EventHandler
+    public void postInit(FMLPostInitializationEvent event) {
+        if (event.getSide() != Side.CLIENT) return;
+
+        BetaSkyHelper.buildBiomeSkyTable();
+        BetaCelestialTable.build();
+    }
 }
@@ -0,0 +1,192 @@
+package com.michaelsebero.betagraphics.client;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.RenderGlobal;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+import org.lwjgl.opengl.GL11;
+
+import java.lang.reflect.Field;
+
+/**
+ * Beta 1.7.3b flat cloud layer drawn from a single cached mesh.
+ *
+ * Replaces RenderGlobal.renderClouds (SRG: func_180447_b) for fast clouds in
+ * surface worlds via MixinRenderGlobal. Fancy clouds, custom cloud renderers
+ * and anaglyph 3D keep the vanilla/Forge path.
+ *
+ * Beta's renderClouds re-tessellated a 16×16 grid of 32-block quads every
+ * frame, baking the scroll offset into each texture coordinate:
+ *   u = (vertexX + cameraX + (cloudTicks + pt) * 0.03) / 2048
+ *   v = (vertexZ + cameraZ) / 2048
+ * The grid itself never changes relative to the camera, so it is built once
+ * (BetaStaticMesh, VBO or display list) with u = vertexX / 2048 and
+ * v = vertexZ / 2048. The per-frame part — the camera/scroll offset, already
+ * wrapped into one 2048-block texture tile as Beta did — is applied as a
+ * GL_TEXTURE matrix translation, and the cloud height as a modelview
+ * translation. GL_REPEAT on clouds.png covers every other tile, so one mesh
+ * serves the whole world.
+ *
+ * Colour:
+ *   BetaSkyHelper.computeBetaCloudColor — Beta's cloud formula on the same
+ *   memoised celestial angle and rain/thunder factors as the sky colour — at
+ *   Beta's 0.8 alpha.
+ *
+ * Fog:
+ *   The layer is drawn under BetaFogHelper.setupBetaFog's sky-pass
+ *   parameters (start 0, end 0.8 * far plane in air), so it fades into the
+ *   fog colour exactly where the sky plane does.
+ *
+ * Height comes from WorldProvider.getCloudHeight() so mods that move the cloud
+ * layer keep working. Render thread only.
+ */
+public final class BetaCloudRenderer {
+
+    private static final ResourceLocation CLOUDS_TEXTURE =
+        new ResourceLocation("textures/environment/clouds.png");
+
+    /** Quad size and half-extent of the grid, in blocks (Beta: 32 and 256). */
+    private static final int CELL   = 32;
+    private static final int EXTENT = 256;
+
+    /** Blocks covered by one repeat of clouds.png. */
+    private static final double TILE_BLOCKS = 2048.0D;
+
+    /** Blocks the layer drifts along +X per cloud tick. */
+    private static final double SCROLL_PER_TICK = 0.03F;
+
+    private static final float CLOUD_ALPHA = 0.8F;
+
+    private static final float[] CLOUD_RGB = new float[3];
+
+    private static BetaStaticMesh mesh                = null;
+    private static boolean        builtWithVbo        = false;
+    private static int            builtCapsGeneration = -1;
+
+    private static volatile Field   cloudTickField      = null;
+    private static volatile boolean cloudTickSearchDone = false;
+
+    private BetaCloudRenderer() {}
+
+    // ── Frame ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Draws the cloud layer for the current frame.
+     *
+     * @param x, y, z  Interpolated camera position passed to renderClouds.
+     */
+    public static void render(RenderGlobal renderGlobal, float partialTicks,
+            double x, double y, double z) {
+        Minecraft mc    = Minecraft.getMinecraft();
+        World     world = mc.world;
+        if (world == null) return;
+
+        ensureBuilt();
+
+        double scroll = (readCloudTicks(renderGlobal, world) + partialTicks) * SCROLL_PER_TICK;
+        double u = x + scroll;
+        double v = z;
+        u -= Math.floor(u / TILE_BLOCKS) * TILE_BLOCKS;
+        v -= Math.floor(v / TILE_BLOCKS) * TILE_BLOCKS;
+        float height = world.provider.getCloudHeight() - (float) y + 0.33F;
+
+        BetaFogHelper.setupBetaFog(mc.entityRenderer, -1, partialTicks);
+        BetaSkyHelper.computeBetaCloudColor(world, partialTicks, CLOUD_RGB);
+
+        GlStateManager.disableCull();
+        mc.getTextureManager().bindTexture(CLOUDS_TEXTURE);
+        GlStateManager.enableBlend();
+        GlStateManager.tryBlendFuncSeparate(
+            GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA,
+            GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+        GlStateManager.color(CLOUD_RGB[0], CLOUD_RGB[1], CLOUD_RGB[2], CLOUD_ALPHA);
+
+        GlStateManager.matrixMode(GL11.GL_TEXTURE);
+        GlStateManager.pushMatrix();
+        GlStateManager.translate((float) (u / TILE_BLOCKS), (float) (v / TILE_BLOCKS), 0.0F);
+        GlStateManager.matrixMode(GL11.GL_MODELVIEW);
+        GlStateManager.pushMatrix();
+        GlStateManager.translate(0.0F, height, 0.0F);
+
+        mesh.draw();
+
+        GlStateManager.popMatrix();
+        GlStateManager.matrixMode(GL11.GL_TEXTURE);
+        GlStateManager.popMatrix();
+        GlStateManager.matrixMode(GL11.GL_MODELVIEW);
+
+        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+        GlStateManager.disableBlend();
+        GlStateManager.enableCull();
+    }
+
+    // ── Geometry ──────────────────────────────────────────────────────────────
+
+    private static void ensureBuilt() {
+        boolean useVbo     = OpenGlHelper.useVbo();
+        int     generation = BetaGLCaps.current().generation;
+        if (mesh != null && useVbo == builtWithVbo && generation == builtCapsGeneration) return;
+
+        // Handles from a previous context are already gone; only free our own.
+        if (mesh != null && generation == builtCapsGeneration) mesh.delete();
+
+        mesh = BetaStaticMesh.build(useVbo, GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX,
+            BetaCloudRenderer::buildLayer);
+        builtWithVbo        = useVbo;
+        builtCapsGeneration = generation;
+    }
+
+    /** Beta's cloud grid at y = 0 with camera-relative texture coordinates. */
+    private static void buildLayer(BufferBuilder buf) {
+        float k = (float) (1.0D / TILE_BLOCKS);
+        for (int x = -EXTENT; x < EXTENT; x += CELL) {
+            for (int z = -EXTENT; z < EXTENT; z += CELL) {
+                buf.pos(x,        0.0D, z + CELL).tex(x * k,          (z + CELL) * k).endVertex();
+                buf.pos(x + CELL, 0.0D, z + CELL).tex((x + CELL) * k, (z + CELL) * k).endVertex();
+                buf.pos(x + CELL, 0.0D, z).tex((x + CELL) * k,        z * k).endVertex();
+                buf.pos(x,        0.0D, z).tex(x * k,                 z * k).endVertex();
+            }
+        }
+    }
+
+    // ── Reflection ────────────────────────────────────────────────────────────
+
+    /**
+     * RenderGlobal.cloudTickCounter, the tick count Beta's cloud drift is based
+     * on. Resolved once by name:
+     *   "cloudTickCounter" — MCP (dev environment)
+     *   "field_72773_u"    — SRG 1.12.2
+     * Falls back to the world's total time if neither exists.
+     */
+    private static int readCloudTicks(RenderGlobal renderGlobal, World world) {
+        if (!cloudTickSearchDone) {
+            cloudTickSearchDone = true;
+            for (String name : new String[]{ "cloudTickCounter", "field_72773_u" }) {
+                try {
+                    Field f = RenderGlobal.class.getDeclaredField(name);
+                    f.setAccessible(true);
+                    cloudTickField = f;
+                    System.out.println("[BetaGraphics] Located RenderGlobal.cloudTickCounter as '"
+                        + name + "'.");
+                    break;
+                } catch (NoSuchFieldException ignored) { }
+            }
+            if (cloudTickField == null) {
+                System.out.println("[BetaGraphics] RenderGlobal.cloudTickCounter not found — "
+                    + "Beta clouds will drift with world time.");
+            }
+        }
+
+        Field f = cloudTickField;
+        if (f != null) {
+            try {
+                return f.getInt(renderGlobal);
+            } catch (IllegalAccessException ignored) { }
+        }
+        return (int) world.getTotalWorldTime();
+    }
+}
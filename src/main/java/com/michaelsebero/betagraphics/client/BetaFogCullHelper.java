@@ -0,0 +1,142 @@
+package com.michaelsebero.betagraphics.client;
+
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.client.renderer.ActiveRenderInfo;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.effect.EntityLightningBolt;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Skips drawing objects that would come out as solid fog colour.
+ *
+ * Beta's fog is fully opaque past a known distance (BetaFogHelper
+ * .getFogSaturationDistance): the GL_LINEAR fog end in air, ln(255)/density
+ * under GL_EXP in water and lava. Anything whose nearest point lies beyond it
+ * is drawn, lit and textured only to be painted over by fog, so the Render*
+ * mixins ask this class first and drop those objects:
+ *   MixinRenderManager                — entities (shouldRender)
+ *   MixinTileEntityRendererDispatcher — tile entity special renderers
+ *   MixinParticleManager              — individual particles
+ * BetaRenderDistanceHelper applies the same test to terrain chunks through
+ * isBeyondFog(), which ignores the fogCulling option.
+ *
+ * Distance metric:
+ *   With GL_NV_fog_distance (EYE_RADIAL_NV) the fog coordinate is the true
+ *   eye distance, so the test uses the nearest point of the box radially.
+ *   Without it, fixed-function fog uses eye-plane depth, which is never larger
+ *   than the radial distance; the test then uses the box's minimum depth along
+ *   the camera's forward axis so nothing visible is culled.
+ *
+ * Safety:
+ *   Models may overhang their render bounding box, so CULL_MARGIN is added to
+ *   the saturation distance. The view entity, glowing entities (outlines are
+ *   drawn without fog) and lightning bolts (tall geometry on a tiny box) are
+ *   never culled. Infinite render boxes (beacon beams) are never culled either.
+ *
+ * Per-frame setup is done lazily on the first query of a frame, after the
+ * camera transform (ActiveRenderInfo) for that frame exists.
+ */
+public final class BetaFogCullHelper {
+
+    /** Blocks added to the saturation distance to cover model overhang. */
+    private static final double CULL_MARGIN = 2.0D;
+
+    private static long    preparedFrame = -1L;
+    private static boolean active        = false;
+    private static boolean radial        = false;
+    private static double  limit, limitSq;
+    private static double  camX, camY, camZ;
+    private static double  lookX, lookY, lookZ;
+
+    private BetaFogCullHelper() {}
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /**
+     * True if {@code box} is entirely inside opaque fog this frame, regardless
+     * of the fogCulling option. Also used for terrain by BetaRenderDistanceHelper.
+     */
+    public static boolean isBeyondFog(AxisAlignedBB box) {
+        return prepare() && isFogged(box);
+    }
+
+    /** True if {@code entity} is entirely inside opaque fog this frame. */
+    public static boolean shouldCull(Entity entity) {
+        if (!BetaGraphicsMod.isFogCullingEnabled() || !prepare()) return false;
+        Minecraft mc = Minecraft.getMinecraft();
+        if (entity == mc.getRenderViewEntity() || entity.isGlowing()
+                || entity instanceof EntityLightningBolt) {
+            return false;
+        }
+        return isFogged(entity.getRenderBoundingBox());
+    }
+
+    /** True if {@code tileEntity} is entirely inside opaque fog this frame. */
+    public static boolean shouldCull(TileEntity tileEntity) {
+        return BetaGraphicsMod.isFogCullingEnabled()
+            && isBeyondFog(tileEntity.getRenderBoundingBox());
+    }
+
+    /** True if {@code particle} is entirely inside opaque fog this frame. */
+    public static boolean shouldCull(Particle particle) {
+        return BetaGraphicsMod.isFogCullingEnabled() && isBeyondFog(particle.getBoundingBox());
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private static boolean isFogged(AxisAlignedBB box) {
+        if (radial) {
+            double dx = Math.max(0.0D, Math.max(box.minX - camX, camX - box.maxX));
+            double dy = Math.max(0.0D, Math.max(box.minY - camY, camY - box.maxY));
+            double dz = Math.max(0.0D, Math.max(box.minZ - camZ, camZ - box.maxZ));
+            return dx * dx + dy * dy + dz * dz > limitSq;
+        }
+
+        // Minimum depth of the box along the forward axis: per axis, the corner
+        // coordinate that minimises look_i * (c_i - cam_i). A zero component
+        // contributes nothing (and avoids 0 * Infinity for unbounded boxes).
+        double depth = 0.0D;
+        if (lookX != 0.0D) depth += lookX * ((lookX > 0.0D ? box.minX : box.maxX) - camX);
+        if (lookY != 0.0D) depth += lookY * ((lookY > 0.0D ? box.minY : box.maxY) - camY);
+        if (lookZ != 0.0D) depth += lookZ * ((lookZ > 0.0D ? box.minZ : box.maxZ) - camZ);
+        return depth > limit;
+    }
+
+    /** Captures the camera for this frame on first use. Returns false if it cannot. */
+    private static boolean prepare() {
+        long frame = BetaFrameHelper.getFrameCounter();
+        if (frame == preparedFrame) return active;
+        preparedFrame = frame;
+        active        = false;
+
+        if (!BetaFrameHelper.hasCamera()) return false;
+
+        Minecraft mc   = Minecraft.getMinecraft();
+        Entity    view = mc.getRenderViewEntity();
+        if (view == null) return false;
+
+        float saturation = BetaFogHelper.getFogSaturationDistance();
+        if (Float.isInfinite(saturation)) return false;
+
+        float pt  = BetaFrameHelper.getPartialTicks();
+        Vec3d cam = ActiveRenderInfo.projectViewFromEntity(view, pt);
+        Vec3d look = view.getLook(pt);
+        double sign = mc.gameSettings.thirdPersonView == 2 ? -1.0D : 1.0D;
+
+        camX    = cam.x;
+        camY    = cam.y;
+        camZ    = cam.z;
+        lookX   = look.x * sign;
+        lookY   = look.y * sign;
+        lookZ   = look.z * sign;
+        radial  = BetaGLCaps.current().nvFogDistance;
+        limit   = saturation + CULL_MARGIN;
+        limitSq = limit * limit;
+        active  = true;
+        return true;
+    }
+}
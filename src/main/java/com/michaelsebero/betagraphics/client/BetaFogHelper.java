@@ -1,15 +1,18 @@
 package com.michaelsebero.betagraphics.client;
 
-import net.minecraft.block.material.Material;
+import com.michaelsebero.betagraphics.core.BetaLightModel;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.EntityRenderer;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.init.MobEffects;
+import net.minecraft.potion.PotionEffect;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
-import org.lwjgl.opengl.GLContext;
 
 import java.lang.reflect.Field;
 import java.nio.FloatBuffer;
@@ -21,8 +24,11 @@ import java.nio.FloatBuffer;
  *   Water  — GL_EXP, density 0.1
  *   Lava   — GL_EXP, density 2.0
  *   Normal — GL_LINEAR, start = farPlane * 0.25, end = farPlane
+ *     farPlane = renderDistanceChunks * 16, or the smoothed distance chosen by
+ *     the frame-time governor (BetaFrameTimeHelper) when it is enabled
  *     Sky pass (startCoords < 0): start = 0, end = farPlane * 0.8
  *     GL_NV_fog_distance: spherical fog via EYE_RADIAL_NV when available
+ *       (read from the per-context BetaGLCaps snapshot, not GLContext)
  *     Nether (no sky light): start = 0 (haze from camera)
  *   No void fog — that was added in Beta 1.8.
  *
@@ -32,17 +38,73 @@ import java.nio.FloatBuffer;
  *   dramatically darker than 1.12.2 even at gamma=0. This system was removed
  *   in 1.12.2 and is restored here.
  *
- *   tickAmbientDarken() — called once per client tick:
+ *   tickAmbientDarken() — called once per client tick (once per second with
+ *   the elapsed tick count while BetaIdleHelper throttles):
  *     Underground: betaFogDarken smoothly lerps toward lightBrightnessTable[finalLight].
  *     Outdoor:     betaFogDarken is fixed at 1.0. getBetaSkyColor already applies
  *                  time-of-day brightness; multiplying again would double-darken and
  *                  cause a sunset shimmer due to the 20Hz lerp lag.
  *
- *   applyAmbientDarken() — injected before each RETURN in updateFogColor:
- *     Reads GL_COLOR_CLEAR_VALUE, multiplies by the partial-tick-interpolated
- *     ambient factor, and re-writes it via glClearColor. Because setupBetaFog
- *     reads GL_COLOR_CLEAR_VALUE as its fog colour source, it automatically
- *     picks up the darkened value without additional work.
+ *   updateBetaFogColor() — replaces updateFogColor outright (the default):
+ *     Computes Beta's complete fog/clear colour on the CPU in one pass and
+ *     issues exactly one clearColor. See "Beta fog colour pipeline" below.
+ *
+ *   applyAmbientDarken() — injected before each RETURN in updateFogColor
+ *   (only reached when replaceVanillaFogColor=false):
+ *     Multiplies the colour vanilla computed (captured on the CPU by
+ *     captureClearColor) by the partial-tick-interpolated ambient factor,
+ *     records the result as the current fog colour, and issues one clearColor.
+ *     setupBetaFog reads that recorded colour as its fog colour source.
+ *
+ * CPU-side clear colour tracking:
+ *   MixinEntityRenderer redirects updateFogColor's GlStateManager.clearColor
+ *   call to captureClearColor(), so the base colour never round-trips through
+ *   GL. Neither applyAmbientDarken nor setupBetaFog (which runs several times
+ *   per frame) issues a glGetFloat(GL_COLOR_CLEAR_VALUE) query any more; each
+ *   such query was a synchronous readback that could stall the driver.
+ *
+ * Beta fog colour pipeline (updateBetaFogColor):
+ *   Port of Beta's EntityRenderer.updateFogColor, all on the CPU:
+ *     blend = 1 - (1 / (4 - renderDistance)) ^ 0.25, renderDistance being
+ *             Beta's Far..Tiny step for the chunk slider
+ *             (BetaLightModel.betaRenderDistance)
+ *     fog   = WorldProvider fog colour (Beta kernel for sky dimensions)
+ *     fog  += (skyColor - fog) * blend
+ *     rain / thunder darkening (BetaLightModel.fogWeather)
+ *     water (0.02, 0.02, 0.2) / lava (0.6, 0.1, 0.0) override
+ *     blindness darkening, as vanilla applies it (kept for gameplay)
+ *     fog  *= lerp(betaFogDarken2, betaFogDarken, partialTicks)
+ *   Vanilla's version additionally runs sunrise tinting, biome-blended sky
+ *   sampling, void/night-vision/boss-fog adjustments and the FogColors
+ *   event — none of which Beta had — only for the result to be darkened
+ *   again afterwards. Skipping it removes that work and the capture/redirect
+ *   round trip. Set replaceVanillaFogColor=false to restore the vanilla path
+ *   for mods that listen to EntityViewRenderEvent.FogColors.
+ *
+ * EntityRenderer.fogColorRed/Green/Blue:
+ *   Vanilla's setupFogColor(false) rebuilds GL_FOG_COLOR from these fields
+ *   (after every enchantment glint, end portal, ...). Both colour paths write
+ *   the final, ambient-darkened colour back into them, so that reset restores
+ *   Beta's colour instead of black or last frame's vanilla colour.
+ *
+ * Camera medium:
+ *   Water/lava and the sky flag come from BetaFrameHelper's per-frame camera
+ *   snapshot rather than entity.isInsideOfMaterial on every pass.
+ *
+ * Fog state cache:
+ *   setupBetaFog runs several times per frame (sky, terrain, clouds, weather)
+ *   with mostly identical parameters. Mode, start, end, density, colour and
+ *   colour material go through GlStateManager, whose shadow already drops
+ *   redundant calls and is kept current by every other renderer. The
+ *   NV_fog_distance hint has no shadow, so this class remembers sending it and
+ *   skips repeats; the record is cleared at the start of each frame. Fog
+ *   colour is deliberately not cached: vanilla's setupFogColor rewrites
+ *   GL_FOG_COLOR with raw GL in the middle of a frame (enchantment glints, end
+ *   portals), which no cache here could see, so it is sent on every pass.
+ *   Final fog parameters are resolved before any GL call so nothing is set
+ *   twice in one pass. getSkippedNvFogHints() counts the repeated NV hints
+ *   skipped (GlStateManager's own elisions are not visible here); the F3
+ *   screen shows it next to the governor line.
  *
  * --- FIX: farPlane field detection (tryWriteFarPlane) ---
  * Original: scanned EntityRenderer float fields for one whose CURRENT value was
@@ -62,10 +124,15 @@ import java.nio.FloatBuffer;
  * calls caused the shadow to desync, which could cause incorrect state-change
  * elision in subsequent render passes. Fix: use GlStateManager.setFog*() where
  * methods are available; fog color and NV_fog_distance still require raw GL.
+ * Vertex colour and glColorMaterial now go through GlStateManager too.
  *
- * --- FIX: CLEAR_COLOR_BUF buffer size ---
- * Original: allocated 16 floats. GL_COLOR_CLEAR_VALUE writes exactly 4 floats.
- * Fix: allocate 4 floats.
+ * --- FIX: Compounding darkening through the clearColor shadow ---
+ * Original: read GL_COLOR_CLEAR_VALUE, multiplied it, and wrote it back with raw
+ * glClearColor. GlStateManager's clear-colour shadow still held vanilla's value,
+ * so when vanilla requested the same colour next frame the call was elided and
+ * GL kept last frame's darkened colour — which was then darkened again. Fix: the
+ * base colour is captured from vanilla's call itself and the darkened colour is
+ * written through GlStateManager.clearColor, keeping the shadow in sync.
  */
 public final class BetaFogHelper {
 
@@ -83,9 +150,38 @@ public final class BetaFogHelper {
     private static volatile Field   farPlaneField      = null;
     private static volatile boolean farPlaneSearchDone = false;
 
-    // FIX: Was 16; GL_COLOR_CLEAR_VALUE populates exactly 4 floats.
-    private static final FloatBuffer CLEAR_COLOR_BUF = BufferUtils.createFloatBuffer(4);
-    private static final FloatBuffer FOG_COLOR_BUF   = BufferUtils.createFloatBuffer(4);
+    /** EntityRenderer.fogColorRed/Green/Blue; null if they could not be located. */
+    private static volatile Field[] fogColorFields     = null;
+    private static volatile boolean fogColorSearchDone = false;
+
+    private static final FloatBuffer FOG_COLOR_BUF = BufferUtils.createFloatBuffer(4);
+
+    /** Scratch colours for updateBetaFogColor. Render thread only. */
+    private static final float[] FOG_RGB = new float[3];
+    private static final float[] SKY_RGB = new float[3];
+
+    /** Clear colour vanilla's updateFogColor requested this frame, before darkening. */
+    private static float baseRed, baseGreen, baseBlue;
+
+    /** Current fog/clear colour after ambient darkening; setupBetaFog's source. */
+    private static float fogRed, fogGreen, fogBlue;
+
+    /**
+     * Fog state cache for the NV fog distance hint, which GlStateManager does
+     * not shadow. Valid only within the current frame; see resetFogStateCache().
+     */
+    private static boolean nvFogDistanceOn = false;
+    private static long    skippedNvHints  = 0L;
+
+    /** GL_EXP densities for the submerged fog modes. */
+    private static final float WATER_FOG_DENSITY = 0.1F;
+    private static final float LAVA_FOG_DENSITY  = 2.0F;
+
+    /** ln(255): GL_EXP fog is fully opaque (factor < 1/255) past ln(255) / density. */
+    private static final float LN_255 = (float) Math.log(255.0D);
+
+    /** Far plane the last terrain fog pass was set up with. */
+    private static float lastFarPlane = 0.0F;
 
     private static final float BETA_FOG_START_FACTOR   = 0.25F;
     private static final float BETA_SKY_FOG_END_FACTOR = 0.80F;
@@ -103,41 +199,148 @@ public final class BetaFogHelper {
      *
      * Outdoor path sets betaFogDarken = 1.0 directly (no lerp) to keep the
      * ambient factor in sync with getBetaSkyColor's celestial-angle brightness.
+     * Both values are read from the light nibbles by BetaLightSampler.
+     *
+     * {@code elapsedTicks} is the number of client ticks since the previous
+     * call (more than 1 while idle-throttled); the lerp is stepped that many
+     * times so the fog does not fall behind.
      */
-    public static void tickAmbientDarken(World world, BlockPos playerPos) {
-        int combined     = world.getCombinedLight(playerPos, 0);
-        int blockLight   = (combined >> 4)  & 0xF;
-        int skyLight     = (combined >> 20) & 0xF;
-        int skyLightSub  = world.calculateSkylightSubtracted(1.0F);
-        int effectiveSky = Math.max(0, skyLight - skyLightSub);
-        int finalLight   = Math.max(effectiveSky, blockLight);
-        float ambient    = world.provider.getLightBrightnessTable()[finalLight];
+    public static void tickAmbientDarken(World world, BlockPos playerPos, int elapsedTicks) {
+        int   x        = playerPos.getX();
+        int   y        = playerPos.getY();
+        int   z        = playerPos.getZ();
+        int   skyLight = BetaLightSampler.skyLight(world, x, y, z);
+        float ambient  = BetaLightSampler.brightness(world, x, y, z);
 
         if (skyLight > 0) {
             betaFogDarken2 = betaFogDarken;
             betaFogDarken  = 1.0F;
         } else {
-            betaFogDarken2 = betaFogDarken;
-            betaFogDarken += (ambient - betaFogDarken) * 0.1F;
+            float darken = betaFogDarken;
+            for (int i = 1; i < elapsedTicks; i++) {
+                darken = BetaLightModel.ambientDarkenStep(darken, ambient);
+            }
+            betaFogDarken2 = darken;
+            betaFogDarken  = BetaLightModel.ambientDarkenStep(darken, ambient);
         }
     }
 
-    // ── Per-frame ambient darkening ───────────────────────────────────────────
+    // ── Per-frame fog colour ──────────────────────────────────────────────────
 
     /**
-     * Multiplies the GL clear colour by Beta's ambient factor.
+     * Full replacement for EntityRenderer.updateFogColor(float).
+     * Injected at HEAD by MixinEntityRenderer, which then cancels vanilla.
+     *
+     * @param er           The EntityRenderer instance (this).
+     * @param partialTicks Frame interpolation factor.
+     */
+    public static void updateBetaFogColor(EntityRenderer er, float partialTicks) {
+        Minecraft mc     = Minecraft.getMinecraft();
+        World     world  = mc.world;
+        Entity    entity = mc.getRenderViewEntity();
+        if (world == null || entity == null) return;
+
+        float blend = BetaLightModel.fogDistanceBlend(mc.gameSettings.renderDistanceChunks);
+
+        if (BetaFrameHelper.hasSkyLight()) {
+            BetaLightModel.fogColor(BetaSkyHelper.celestialBrightness(world, partialTicks), FOG_RGB);
+        } else {
+            float celestialAngle = BetaSkyHelper.celestialAngle(world, partialTicks);
+            Vec3d fog = world.provider.getFogColor(celestialAngle, partialTicks);
+            FOG_RGB[0] = (float) fog.x;
+            FOG_RGB[1] = (float) fog.y;
+            FOG_RGB[2] = (float) fog.z;
+        }
+
+        BetaSkyHelper.computeBetaSkyColor(world, entity, partialTicks, SKY_RGB);
+        FOG_RGB[0] += (SKY_RGB[0] - FOG_RGB[0]) * blend;
+        FOG_RGB[1] += (SKY_RGB[1] - FOG_RGB[1]) * blend;
+        FOG_RGB[2] += (SKY_RGB[2] - FOG_RGB[2]) * blend;
+
+        BetaLightModel.fogWeather(BetaSkyHelper.rainStrength(world, partialTicks),
+            BetaSkyHelper.thunderStrength(world, partialTicks), FOG_RGB);
+
+        int medium = BetaFrameHelper.getMedium();
+        if (medium == BetaFrameHelper.MEDIUM_WATER) {
+            FOG_RGB[0] = 0.02F;
+            FOG_RGB[1] = 0.02F;
+            FOG_RGB[2] = 0.2F;
+        } else if (medium == BetaFrameHelper.MEDIUM_LAVA) {
+            FOG_RGB[0] = 0.6F;
+            FOG_RGB[1] = 0.1F;
+            FOG_RGB[2] = 0.0F;
+        }
+
+        float blind = blindnessFactor(entity);
+        if (blind < 1.0F) {
+            FOG_RGB[0] *= blind;
+            FOG_RGB[1] *= blind;
+            FOG_RGB[2] *= blind;
+        }
+
+        float mult = betaFogDarken2 + (betaFogDarken - betaFogDarken2) * partialTicks;
+        float r = FOG_RGB[0] * mult;
+        float g = FOG_RGB[1] * mult;
+        float b = FOG_RGB[2] * mult;
+
+        if (mc.gameSettings.anaglyph) {
+            float ar = (r * 30.0F + g * 59.0F + b * 11.0F) / 100.0F;
+            float ag = (r * 30.0F + g * 70.0F) / 100.0F;
+            float ab = (r * 30.0F + b * 70.0F) / 100.0F;
+            r = ar;
+            g = ag;
+            b = ab;
+        }
+
+        fogRed   = r;
+        fogGreen = g;
+        fogBlue  = b;
+
+        GlStateManager.clearColor(fogRed, fogGreen, fogBlue, 0.0F);
+        writeFogColorFields(er);
+    }
+
+    /**
+     * Vanilla updateFogColor's blindness darkening, squared as vanilla does:
+     * fades in over the last 20 ticks of the effect, 0 while it lasts longer.
+     * 1 when the entity is not blind.
+     */
+    private static float blindnessFactor(Entity entity) {
+        if (!(entity instanceof EntityLivingBase)) return 1.0F;
+        PotionEffect effect =
+            ((EntityLivingBase) entity).getActivePotionEffect(MobEffects.BLINDNESS);
+        if (effect == null) return 1.0F;
+        int   duration = effect.getDuration();
+        float f        = duration < 20 ? 1.0F - (float) duration / 20.0F : 0.0F;
+        return f * f;
+    }
+
+    // ── Per-frame ambient darkening (vanilla fog colour path) ─────────────────
+
+    /**
+     * Records the clear colour vanilla's updateFogColor computed. Replaces its
+     * GlStateManager.clearColor call (redirected by MixinEntityRenderer); the
+     * single GL call for the frame is issued by applyAmbientDarken.
+     */
+    public static void captureClearColor(float r, float g, float b, float a) {
+        baseRed   = r;
+        baseGreen = g;
+        baseBlue  = b;
+    }
+
+    /**
+     * Multiplies the captured clear colour by Beta's ambient factor.
      * Injected by MixinEntityRenderer before each RETURN in updateFogColor.
      */
     public static void applyAmbientDarken(EntityRenderer er, float partialTicks) {
         float mult = betaFogDarken2 + (betaFogDarken - betaFogDarken2) * partialTicks;
 
-        CLEAR_COLOR_BUF.clear();
-        GL11.glGetFloat(GL11.GL_COLOR_CLEAR_VALUE, CLEAR_COLOR_BUF);
-        float r = CLEAR_COLOR_BUF.get(0) * mult;
-        float g = CLEAR_COLOR_BUF.get(1) * mult;
-        float b = CLEAR_COLOR_BUF.get(2) * mult;
+        fogRed   = baseRed   * mult;
+        fogGreen = baseGreen * mult;
+        fogBlue  = baseBlue  * mult;
 
-        GL11.glClearColor(r, g, b, 0.0F);
+        GlStateManager.clearColor(fogRed, fogGreen, fogBlue, 0.0F);
+        writeFogColorFields(er);
     }
 
     // ── Fog setup ─────────────────────────────────────────────────────────────
@@ -153,69 +356,177 @@ public final class BetaFogHelper {
     public static void setupBetaFog(EntityRenderer er, int startCoords, float partialTicks) {
         Minecraft mc = Minecraft.getMinecraft();
         if (mc == null || mc.gameSettings == null || mc.world == null) return;
+        if (!BetaFrameHelper.hasCamera()) return;
 
-        World  world  = mc.world;
-        Entity entity = mc.getRenderViewEntity();
-        if (entity == null) entity = mc.player;
-        if (entity == null) return;
-
-        final float farPlane = Math.max(16.0F, mc.gameSettings.renderDistanceChunks * 16.0F);
+        // renderDistanceChunks * 16, or the frame-time governor's smoothed distance.
+        final float farPlane = BetaFrameTimeHelper.getFogFarPlane();
         tryWriteFarPlane(er, farPlane);
+        lastFarPlane = farPlane;
+
+        // Resolve the final fog parameters first so each GL setter is issued at
+        // most once (the sky pass used to set start/end twice).
+        GlStateManager.FogMode mode;
+        float density = 0.0F, start = 0.0F, end = 0.0F;
+
+        int medium = BetaFrameHelper.getMedium();
+        if (medium == BetaFrameHelper.MEDIUM_WATER) {
+            mode    = GlStateManager.FogMode.EXP;
+            density = WATER_FOG_DENSITY;
+        } else if (medium == BetaFrameHelper.MEDIUM_LAVA) {
+            mode    = GlStateManager.FogMode.EXP;
+            density = LAVA_FOG_DENSITY;
+        } else {
+            mode = GlStateManager.FogMode.LINEAR;
+            if (startCoords < 0) {
+                // Sky pass: fog from camera to 80% of render distance.
+                start = 0.0F;
+                end   = farPlane * BETA_SKY_FOG_END_FACTOR;
+            } else {
+                start = farPlane * BETA_FOG_START_FACTOR;
+                end   = farPlane;
+            }
+            if (!BetaFrameHelper.hasSkyLight()) {
+                // Nether: haze starts at the camera.
+                start = 0.0F;
+            }
+        }
 
-        // Read fog colour from GL_COLOR_CLEAR_VALUE (already ambient-darkened by
-        // applyAmbientDarken, which fires before setupFog in the render order).
-        CLEAR_COLOR_BUF.clear();
-        GL11.glGetFloat(GL11.GL_COLOR_CLEAR_VALUE, CLEAR_COLOR_BUF);
-        float fogR = CLEAR_COLOR_BUF.get(0);
-        float fogG = CLEAR_COLOR_BUF.get(1);
-        float fogB = CLEAR_COLOR_BUF.get(2);
-
-        FOG_COLOR_BUF.clear();
-        FOG_COLOR_BUF.put(fogR).put(fogG).put(fogB).put(1.0F);
-        FOG_COLOR_BUF.flip();
-        // Fog colour has no GlStateManager wrapper; raw GL is necessary here.
-        GL11.glFog(GL11.GL_FOG_COLOR, FOG_COLOR_BUF);
+        // Fog colour is the CPU-tracked clear colour (already ambient-darkened,
+        // since updateFogColor runs before setupFog in the render order).
+        applyFogColor(fogRed, fogGreen, fogBlue);
 
+        // The current normal is vertex state that every model draw overwrites,
+        // so it cannot be cached and is always sent.
         GL11.glNormal3f(0.0F, -1.0F, 0.0F);
-        GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
+        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+
+        // FIX: Use GlStateManager to keep its shadow state in sync.
+        GlStateManager.setFog(mode);
+        if (mode == GlStateManager.FogMode.LINEAR) {
+            GlStateManager.setFogStart(start);
+            GlStateManager.setFogEnd(end);
+            if (BetaGLCaps.current().nvFogDistance) {
+                // NV extension: spherical (eye-radial) fog, not plane-based.
+                applyNvFogDistance();
+            }
+        } else {
+            GlStateManager.setFogDensity(density);
+        }
 
-        if (entity.isInsideOfMaterial(Material.WATER)) {
-            // FIX: Use GlStateManager to keep its shadow state in sync.
-            GlStateManager.setFog(GlStateManager.FogMode.EXP);
-            GlStateManager.setFogDensity(0.1F);
+        GlStateManager.enableFog();
+        GlStateManager.colorMaterial(GL11.GL_FRONT_AND_BACK, GL11.GL_AMBIENT_AND_DIFFUSE);
+    }
 
-        } else if (entity.isInsideOfMaterial(Material.LAVA)) {
-            GlStateManager.setFog(GlStateManager.FogMode.EXP);
-            GlStateManager.setFogDensity(2.0F);
+    /**
+     * Distance from the camera beyond which the terrain-pass fog is fully opaque
+     * for this frame's medium:
+     *   Linear — the fog end (farPlane)
+     *   EXP    — ln(255) / density (≈55 blocks in water, ≈2.8 in lava)
+     * Measured radially with GL_NV_fog_distance, otherwise along the view axis.
+     * Returns +Infinity until the first fog pass has run.
+     */
+    public static float getFogSaturationDistance() {
+        int medium = BetaFrameHelper.getMedium();
+        if (medium == BetaFrameHelper.MEDIUM_WATER) return LN_255 / WATER_FOG_DENSITY;
+        if (medium == BetaFrameHelper.MEDIUM_LAVA)  return LN_255 / LAVA_FOG_DENSITY;
+        return lastFarPlane > 0.0F ? lastFarPlane : Float.POSITIVE_INFINITY;
+    }
 
-        } else {
-            GlStateManager.setFog(GlStateManager.FogMode.LINEAR);
-            GlStateManager.setFogStart(farPlane * BETA_FOG_START_FACTOR);
-            GlStateManager.setFogEnd(farPlane);
+    // ── Fog state cache ───────────────────────────────────────────────────────
 
-            if (startCoords < 0) {
-                // Sky pass: fog from camera to 80% of render distance.
-                GlStateManager.setFogStart(0.0F);
-                GlStateManager.setFogEnd(farPlane * BETA_SKY_FOG_END_FACTOR);
-            }
+    /**
+     * Clears the record of raw-GL fog state applied this frame, forcing the next
+     * setupBetaFog to send it again. Called by BetaFrameHelper.beginFrame so that
+     * state changed behind our back (other mods, context loss) can only ever
+     * survive until the end of the current frame.
+     */
+    public static void resetFogStateCache() {
+        nvFogDistanceOn = false;
+    }
 
-            if (GLContext.getCapabilities().GL_NV_fog_distance) {
-                // NV extension: spherical (eye-radial) fog, not plane-based.
-                // No GlStateManager wrapper exists for this; raw GL required.
-                GL11.glFogi(NV_FOG_DISTANCE, EYE_RADIAL_NV);
-            }
+    /** Number of repeated NV fog distance hints skipped since startup. */
+    public static long getSkippedNvFogHints() {
+        return skippedNvHints;
+    }
 
-            if (!world.provider.hasSkyLight()) {
-                // Nether: haze starts at the camera.
-                GlStateManager.setFogStart(0.0F);
+    /** Fog state cache line for the F3 screen. */
+    public static String getDebugLine() {
+        return String.format("[BetaGraphics] fog: NV distance hint %s, %d repeats skipped",
+            BetaGLCaps.current().nvFogDistance ? "on" : "unsupported", skippedNvHints);
+    }
+
+    /**
+     * Sends GL_FOG_COLOR. Always issued: setupFogColor may have changed it
+     * through raw GL since the last pass.
+     */
+    private static void applyFogColor(float r, float g, float b) {
+        FOG_COLOR_BUF.clear();
+        FOG_COLOR_BUF.put(r).put(g).put(b).put(1.0F);
+        FOG_COLOR_BUF.flip();
+        // Fog colour has no GlStateManager wrapper; raw GL is necessary here.
+        GL11.glFog(GL11.GL_FOG_COLOR, FOG_COLOR_BUF);
+    }
+
+    /** Sends the NV fog distance hint once per frame. */
+    private static void applyNvFogDistance() {
+        if (nvFogDistanceOn) {
+            skippedNvHints++;
+            return;
+        }
+        // No GlStateManager wrapper exists for this; raw GL required.
+        GL11.glFogi(NV_FOG_DISTANCE, EYE_RADIAL_NV);
+        nvFogDistanceOn = true;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /**
+     * Stores the current fog colour in EntityRenderer.fogColorRed/Green/Blue,
+     * the fields vanilla's setupFogColor(false) re-sends as GL_FOG_COLOR.
+     * Resolved once by name:
+     *   "fogColorRed", "fogColorGreen", "fogColorBlue"       — MCP (dev environment)
+     *   "field_175080_Q", "field_175082_R", "field_175081_S" — SRG 1.12.2
+     */
+    private static void writeFogColorFields(EntityRenderer er) {
+        if (!fogColorSearchDone) {
+            fogColorSearchDone = true;
+            fogColorFields = findFloatFields(
+                new String[]{ "fogColorRed", "fogColorGreen", "fogColorBlue" },
+                new String[]{ "field_175080_Q", "field_175082_R", "field_175081_S" });
+            if (fogColorFields != null) {
+                System.out.println("[BetaGraphics] Located EntityRenderer fog colour fields as '"
+                    + fogColorFields[0].getName() + "' etc. — setupFogColor patch ready.");
+            } else {
+                System.err.println("[BetaGraphics] WARN: EntityRenderer fog colour fields not "
+                    + "found — enchantment glints may reset the fog colour.");
             }
         }
 
-        GlStateManager.enableFog();
-        GL11.glColorMaterial(GL11.GL_FRONT_AND_BACK, GL11.GL_AMBIENT_AND_DIFFUSE);
+        Field[] fields = fogColorFields;
+        if (fields == null) return;
+        try {
+            fields[0].setFloat(er, fogRed);
+            fields[1].setFloat(er, fogGreen);
+            fields[2].setFloat(er, fogBlue);
+        } catch (IllegalAccessException ignored) {}
     }
 
-    // ── Helpers ───────────────────────────────────────────────────────────────
+    /** The first name set whose fields all exist on EntityRenderer as floats, or null. */
+    private static Field[] findFloatFields(String[]... nameSets) {
+        for (String[] names : nameSets) {
+            Field[] found = new Field[names.length];
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    Field f = EntityRenderer.class.getDeclaredField(names[i]);
+                    if (f.getType() != float.class) throw new NoSuchFieldException(names[i]);
+                    f.setAccessible(true);
+                    found[i] = f;
+                }
+                return found;
+            } catch (NoSuchFieldException ignored) {}
+        }
+        return null;
+    }
 
     /**
      * Locates EntityRenderer.farPlaneDistance and writes {@code value} to it.
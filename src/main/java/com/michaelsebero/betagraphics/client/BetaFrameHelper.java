@@ -0,0 +1,104 @@
+package com.michaelsebero.betagraphics.client;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraft.world.World;
+
+/**
+ * Per-frame bookkeeping shared by the Beta render paths.
+ *
+ * beginFrame() is injected at HEAD of EntityRenderer.renderWorld (SRG:
+ * func_78471_a) by MixinEntityRenderer, so it runs exactly once per rendered
+ * world frame, before updateLightmap, updateFogColor and any setupFog call.
+ * Helpers that cache GL-facing state for the duration of one frame reset that
+ * state here instead of each tracking frame boundaries on their own.
+ *
+ * Camera snapshot:
+ *   The fog passes (sky, terrain, clouds, weather) and the fog colour all ask
+ *   the same questions about the camera. entity.isInsideOfMaterial alone does
+ *   a block-state lookup and material test per call, and setupBetaFog used to
+ *   ask it twice (water, then lava) on every pass. beginFrame answers once:
+ *     medium       — MEDIUM_AIR / MEDIUM_WATER / MEDIUM_LAVA at eye height
+ *     hasSkyLight  — world.provider.hasSkyLight()
+ *     partialTicks — the frame's interpolation factor
+ *   Values are fixed for the frame; the camera cannot change medium mid-frame.
+ *   hasCamera() is false when no world/view entity existed at frame start, in
+ *   which case the fields hold neutral defaults (air, sky).
+ *
+ * Render thread only; no synchronisation is needed.
+ */
+public final class BetaFrameHelper {
+
+    public static final int MEDIUM_AIR   = 0;
+    public static final int MEDIUM_WATER = 1;
+    public static final int MEDIUM_LAVA  = 2;
+
+    /** Number of world frames begun since the client started. */
+    private static long frameCounter = 0L;
+
+    // ── Camera snapshot ──────────────────────────────────────────────────────
+
+    private static boolean hasCamera    = false;
+    private static int     medium       = MEDIUM_AIR;
+    private static boolean hasSkyLight  = true;
+    private static float   partialTicks = 0.0F;
+
+    private BetaFrameHelper() {}
+
+    /** Called once at the start of each world frame. */
+    public static void beginFrame(float partialTicks) {
+        frameCounter++;
+        BetaGLCaps.refresh();
+        BetaFogHelper.resetFogStateCache();
+        snapshotCamera(partialTicks);
+        BetaFrameTimeHelper.beginFrame();
+        BetaRenderDistanceHelper.update();
+    }
+
+    private static void snapshotCamera(float pt) {
+        Minecraft mc     = Minecraft.getMinecraft();
+        World     world  = mc.world;
+        Entity    entity = mc.getRenderViewEntity();
+        if (entity == null) entity = mc.player;
+
+        partialTicks = pt;
+        if (world == null || entity == null) {
+            hasCamera   = false;
+            medium      = MEDIUM_AIR;
+            hasSkyLight = true;
+            return;
+        }
+
+        hasCamera = true;
+        if (entity.isInsideOfMaterial(Material.WATER))     medium = MEDIUM_WATER;
+        else if (entity.isInsideOfMaterial(Material.LAVA)) medium = MEDIUM_LAVA;
+        else                                               medium = MEDIUM_AIR;
+        hasSkyLight = world.provider.hasSkyLight();
+    }
+
+    /** Monotonic frame number; useful as a cheap per-frame cache key. */
+    public static long getFrameCounter() {
+        return frameCounter;
+    }
+
+    /** True if a world and view entity existed when the frame began. */
+    public static boolean hasCamera() {
+        return hasCamera;
+    }
+
+    /** MEDIUM_AIR, MEDIUM_WATER or MEDIUM_LAVA at the camera's eye this frame. */
+    public static int getMedium() {
+        return medium;
+    }
+
+    /** Whether the current dimension has sky light. */
+    public static boolean hasSkyLight() {
+        return hasSkyLight;
+    }
+
+    /** Partial ticks the frame was started with. */
+    public static float getPartialTicks() {
+        return partialTicks;
+    }
+}
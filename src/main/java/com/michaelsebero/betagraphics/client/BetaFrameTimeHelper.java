@@ -0,0 +1,222 @@
+package com.michaelsebero.betagraphics.client;
+
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
+import net.minecraft.client.Minecraft;
+import org.lwjgl.opengl.Display;
+
+/**
+ * Frame-time governor: trades render distance for frame rate behind Beta fog.
+ *
+ * Every world frame, beginFrame() records the time since the previous frame
+ * into a rolling window of SAMPLE_COUNT frames. At most once every
+ * DECISION_INTERVAL_NS the window average is compared with the configured
+ * target frame time:
+ *   average > target * STEP_DOWN_RATIO  — effective distance drops one chunk
+ *   average < target * STEP_UP_RATIO,
+ *   or pinned at the frame cap          — effective distance rises one chunk
+ * The gap between the two ratios is hysteresis so the governor does not
+ * oscillate around the target. The effective distance is kept within
+ * [governorMinChunks, min(governorMaxChunks, renderDistanceChunks)].
+ *
+ * Frame cap:
+ *   With vsync or a frame rate limit, frame time cannot fall below the cap's
+ *   period, so "well under target" may never be observed. An average within
+ *   CAP_SLACK of that period means frames finish early and wait for the cap,
+ *   which is headroom too, so it also allows a step up. Without this the
+ *   governor could only ever step down.
+ *
+ * Cooldown:
+ *   A step up is only taken upCooldownNs after the last step down. When a
+ *   step up is followed directly by a step down, the distance is too much
+ *   for the machine, and the cooldown doubles (up to MAX_UP_COOLDOWN_NS) so
+ *   the governor settles instead of bouncing. Two steps up in a row reset it.
+ *
+ * Hiding the change behind fog:
+ *   The effective distance is never applied directly. The fog far plane
+ *   (getFogFarPlane, read by BetaFogHelper.setupBetaFog) slides towards
+ *   effectiveChunks * 16 at FOG_SLIDE_BLOCKS_PER_SECOND, and
+ *   BetaRenderDistanceHelper drops terrain only once it lies fully inside that
+ *   fog. Distant chunks therefore fade into fog before they stop being drawn,
+ *   and fade back out of it after they return — no visible popping.
+ *
+ *   gameSettings.renderDistanceChunks itself is never written: changing it
+ *   reallocates the whole ViewFrustum (a multi-frame hitch). The governor
+ *   limits what is walked, rebuilt and drawn within the allocated distance.
+ *
+ * Sampling rules:
+ *   - Frames while BetaIdleHelper reports idle are not sampled (paused and
+ *     unfocused clients run at throttled rates that say nothing about load).
+ *   - Single samples are capped at MAX_SAMPLE_NS so a world load or GC pause
+ *     cannot drag the average down on its own.
+ *   - With a frame rate limit or vsync, the target is raised to the cap's
+ *     frame time; otherwise the governor would see the cap as "slow".
+ *
+ * lastDecision records the most recent step for the F3 overlay line added by
+ * BetaGraphicsEventHandler.onDebugOverlay. Render thread only.
+ */
+public final class BetaFrameTimeHelper {
+
+    private static final int    SAMPLE_COUNT                = 32;
+    private static final long   MAX_SAMPLE_NS               = 250_000_000L;
+    private static final long   DECISION_INTERVAL_NS        = 500_000_000L;
+    private static final double STEP_DOWN_RATIO             = 1.10D;
+    private static final double STEP_UP_RATIO               = 0.90D;
+    private static final double CAP_SLACK                   = 1.02D;
+    private static final long   BASE_UP_COOLDOWN_NS         = 4_000_000_000L;
+    private static final long   MAX_UP_COOLDOWN_NS          = 64_000_000_000L;
+    private static final float  FOG_SLIDE_BLOCKS_PER_SECOND = 32.0F;
+
+    /** Refresh rate assumed for vsync when the display does not report one. */
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    /** Value of GameSettings.limitFramerate meaning "unlimited". */
+    private static final int UNLIMITED_FRAMERATE = 260;
+
+    private static final long[] samples = new long[SAMPLE_COUNT];
+    private static int  sampleIndex     = 0;
+    private static int  sampleCount     = 0;
+    private static long sampleSum       = 0L;
+
+    private static long  lastFrameNanos    = 0L;
+    private static long  lastDecisionNanos = 0L;
+    private static long  lastDownNanos     = 0L;
+    private static long  upCooldownNs      = BASE_UP_COOLDOWN_NS;
+    private static boolean lastStepUp      = false;
+    private static int   effectiveChunks   = -1;
+    private static float fogFarPlane       = -1.0F;
+    private static String lastDecision     = "none";
+
+    private BetaFrameTimeHelper() {}
+
+    // ── Per-frame update ──────────────────────────────────────────────────────
+
+    /** Called from BetaFrameHelper.beginFrame once per world frame. */
+    public static void beginFrame() {
+        Minecraft mc     = Minecraft.getMinecraft();
+        int       chosen = mc.gameSettings.renderDistanceChunks;
+        long      now    = System.nanoTime();
+        long      delta  = lastFrameNanos == 0L ? 0L : now - lastFrameNanos;
+        lastFrameNanos   = now;
+
+        if (!BetaGraphicsMod.isFrameGovernorEnabled()) {
+            effectiveChunks = chosen;
+            fogFarPlane     = chosen * 16.0F;
+            resetSamples();
+            return;
+        }
+
+        int max = Math.min(BetaGraphicsMod.getGovernorMaxChunks(), chosen);
+        int min = Math.min(BetaGraphicsMod.getGovernorMinChunks(), max);
+        if (effectiveChunks < 0) effectiveChunks = max;
+        if (fogFarPlane < 0.0F)  fogFarPlane     = effectiveChunks * 16.0F;
+        effectiveChunks = Math.max(min, Math.min(max, effectiveChunks));
+
+        if (BetaIdleHelper.isIdle() || delta <= 0L) {
+            resetSamples();
+        } else {
+            addSample(Math.min(delta, MAX_SAMPLE_NS));
+            if (sampleCount == SAMPLE_COUNT && now - lastDecisionNanos >= DECISION_INTERVAL_NS) {
+                decide(now, min, max, capFrameNanos(mc));
+            }
+        }
+
+        float target = effectiveChunks * 16.0F;
+        float step   = FOG_SLIDE_BLOCKS_PER_SECOND * Math.min(delta, MAX_SAMPLE_NS) / 1.0e9F;
+        if (fogFarPlane < target)      fogFarPlane = Math.min(target, fogFarPlane + step);
+        else if (fogFarPlane > target) fogFarPlane = Math.max(target, fogFarPlane - step);
+    }
+
+    private static void decide(long now, int min, int max, double capNs) {
+        double targetNs = BetaGraphicsMod.getTargetFrameTimeMs() * 1.0e6D;
+        if (capNs > 0.0D) {
+            targetNs = Math.max(targetNs, capNs * 1.05D);
+        }
+        double average = (double) sampleSum / sampleCount;
+
+        boolean headroom = average < targetNs * STEP_UP_RATIO
+            || (capNs > 0.0D && average <= capNs * CAP_SLACK);
+
+        if (average > targetNs * STEP_DOWN_RATIO && effectiveChunks > min) {
+            effectiveChunks--;
+            lastDecision = "down to " + effectiveChunks;
+            // Straight back down after a step up: back off before the next try.
+            if (lastStepUp) upCooldownNs = Math.min(upCooldownNs * 2L, MAX_UP_COOLDOWN_NS);
+            lastStepUp    = false;
+            lastDownNanos = now;
+        } else if (headroom && effectiveChunks < max && now - lastDownNanos >= upCooldownNs) {
+            effectiveChunks++;
+            lastDecision = "up to " + effectiveChunks;
+            if (lastStepUp) upCooldownNs = BASE_UP_COOLDOWN_NS;
+            lastStepUp = true;
+        } else {
+            return;
+        }
+
+        // Judge the new distance on fresh samples only.
+        lastDecisionNanos = now;
+        resetSamples();
+    }
+
+    /**
+     * Shortest frame time the frame cap allows, in nanoseconds, or 0 without a
+     * cap: the frame limiter's period and, with vsync, the display refresh
+     * period, whichever is longer.
+     */
+    private static double capFrameNanos(Minecraft mc) {
+        double capNs = 0.0D;
+        int limit = mc.gameSettings.limitFramerate;
+        if (limit > 0 && limit < UNLIMITED_FRAMERATE) {
+            capNs = 1.0e9D / limit;
+        }
+        if (mc.gameSettings.enableVsync) {
+            int hz = Display.getDisplayMode().getFrequency();
+            if (hz <= 0) hz = DEFAULT_REFRESH_RATE;
+            capNs = Math.max(capNs, 1.0e9D / hz);
+        }
+        return capNs;
+    }
+
+    private static void addSample(long nanos) {
+        if (sampleCount == SAMPLE_COUNT) sampleSum -= samples[sampleIndex];
+        else                             sampleCount++;
+        samples[sampleIndex] = nanos;
+        sampleSum += nanos;
+        sampleIndex = (sampleIndex + 1) % SAMPLE_COUNT;
+    }
+
+    private static void resetSamples() {
+        sampleIndex = 0;
+        sampleCount = 0;
+        sampleSum   = 0L;
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /**
+     * Fog far plane in blocks for this frame: the smoothed governed distance,
+     * or simply renderDistanceChunks * 16 when the governor is off.
+     * Never below 16.
+     */
+    public static float getFogFarPlane() {
+        if (fogFarPlane < 0.0F) {
+            return Math.max(16.0F, Minecraft.getMinecraft().gameSettings.renderDistanceChunks * 16.0F);
+        }
+        return Math.max(16.0F, fogFarPlane);
+    }
+
+    /** True while the fog is pulled in closer than the chosen render distance. */
+    public static boolean isLimiting() {
+        return BetaGraphicsMod.isFrameGovernorEnabled()
+            && fogFarPlane >= 0.0F
+            && fogFarPlane < Minecraft.getMinecraft().gameSettings.renderDistanceChunks * 16.0F;
+    }
+
+    /** F3 overlay line describing the governor's state. */
+    public static String getDebugLine() {
+        double averageMs = sampleCount == 0 ? 0.0D : sampleSum / (double) sampleCount / 1.0e6D;
+        return String.format("[BetaGraphics] governor: %d/%d chunks, fog %.0f, %.1f ms avg "
+                + "(target %.1f), last %s",
+            effectiveChunks, Minecraft.getMinecraft().gameSettings.renderDistanceChunks,
+            getFogFarPlane(), averageMs, BetaGraphicsMod.getTargetFrameTimeMs(), lastDecision);
+    }
+}
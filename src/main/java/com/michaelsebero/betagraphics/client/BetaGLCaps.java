@@ -0,0 +1,101 @@
+package com.michaelsebero.betagraphics.client;
+
+import org.lwjgl.opengl.ContextCapabilities;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GLContext;
+
+/**
+ * Immutable snapshot of the GL capabilities Beta Graphics cares about.
+ *
+ * GLContext.getCapabilities() is a thread-local lookup, and reading a flag off
+ * it on every fog pass (several times per frame) adds up. The snapshot is
+ * taken once per GL context: refresh() is called by BetaFrameHelper.beginFrame
+ * and compares the identity of the LWJGL ContextCapabilities object, which
+ * LWJGL replaces whenever the context is recreated (e.g. a display mode change
+ * on some drivers). Only then is a new snapshot built and the generation
+ * number bumped, so hot paths read plain final fields and code that derived a
+ * decision from the caps (such as the lightmap upload format) can tell when
+ * it must decide again.
+ *
+ * current() builds the first snapshot lazily, so callers that run before the
+ * first world frame (client tick, world load) still get valid data. Render
+ * thread only.
+ */
+public final class BetaGLCaps {
+
+    // ── Snapshot fields ──────────────────────────────────────────────────────
+
+    /** GL_NV_fog_distance: eye-radial (spherical) fog. */
+    public final boolean nvFogDistance;
+
+    public final boolean openGL12;
+    public final boolean openGL15;
+    public final boolean openGL20;
+    public final boolean openGL31;
+
+    /** GL_ARB_compatibility: fixed-function formats remain legal on GL 3.1+. */
+    public final boolean arbCompatibility;
+
+    /** Vertex buffer objects, either core GL 1.5 or the ARB extension. */
+    public final boolean vertexBufferObjects;
+
+    /** Instanced arrays (GL 3.3 core or ARB_instanced_arrays). */
+    public final boolean instancedArrays;
+
+    /** GL_VERSION / GL_RENDERER strings, for the log and debug overlay. */
+    public final String version;
+    public final String renderer;
+
+    /** Incremented every time a new snapshot replaces the previous one. */
+    public final int generation;
+
+    // ── Current snapshot ─────────────────────────────────────────────────────
+
+    private static ContextCapabilities source  = null;
+    private static BetaGLCaps          current = null;
+
+    private BetaGLCaps(ContextCapabilities caps, int generation) {
+        this.nvFogDistance       = caps.GL_NV_fog_distance;
+        this.openGL12            = caps.OpenGL12;
+        this.openGL15            = caps.OpenGL15;
+        this.openGL20            = caps.OpenGL20;
+        this.openGL31            = caps.OpenGL31;
+        this.arbCompatibility    = caps.GL_ARB_compatibility;
+        this.vertexBufferObjects = caps.OpenGL15 || caps.GL_ARB_vertex_buffer_object;
+        this.instancedArrays     = caps.OpenGL33 || caps.GL_ARB_instanced_arrays;
+        this.version             = GL11.glGetString(GL11.GL_VERSION);
+        this.renderer            = GL11.glGetString(GL11.GL_RENDERER);
+        this.generation          = generation;
+    }
+
+    /**
+     * True when fixed-function pixel formats such as GL_LUMINANCE are accepted,
+     * i.e. the context is not a core profile.
+     */
+    public boolean fixedFunctionFormats() {
+        return !openGL31 || arbCompatibility;
+    }
+
+    /** Returns the snapshot for the current context, taking it on first use. */
+    public static BetaGLCaps current() {
+        if (current == null) refresh();
+        return current;
+    }
+
+    /**
+     * Re-snapshots if the context's capability object has changed since the last
+     * call. Called once per frame from BetaFrameHelper.beginFrame.
+     */
+    public static void refresh() {
+        ContextCapabilities caps = GLContext.getCapabilities();
+        if (caps == source && current != null) return;
+
+        source  = caps;
+        current = new BetaGLCaps(caps, current == null ? 0 : current.generation + 1);
+        System.out.println("[BetaGraphics] GL capabilities: " + current.version
+            + " (" + current.renderer + "), NV_fog_distance=" + current.nvFogDistance
+            + ", VBO=" + current.vertexBufferObjects
+            + ", instancedArrays=" + current.instancedArrays
+            + ", fixedFunctionFormats=" + current.fixedFunctionFormats() + ".");
+    }
+}
@@ -0,0 +1,77 @@
+package com.michaelsebero.betagraphics.client;
+
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
+import net.minecraft.client.Minecraft;
+import org.lwjgl.opengl.Display;
+
+/**
+ * Detects when the client is idle and throttles Beta Graphics' periodic work.
+ *
+ * The client counts as idle while either of these holds:
+ *   - the game is paused (integrated server paused),
+ *   - the window has lost focus or is minimised (Display.isActive() == false).
+ * An open GuiScreen alone (inventory, chat, a multiplayer pause menu) does not
+ * count: the world keeps ticking behind it and the fog must keep up.
+ *
+ * While idle, lightmap regeneration, ambient-darken ticking and the delayed
+ * VBO rebuild flush in BetaGraphicsEventHandler.onClientTick run only once
+ * every IDLE_INTERVAL_TICKS client ticks, and MixinEntityRenderer skips the
+ * per-frame lightmap work in both lightmap modes. Throttled passes are told
+ * how many ticks elapsed, so ambient darkening and rebuild countdowns catch up
+ * instead of lagging. Players leaving clients AFK for hours no longer pay for
+ * work whose result does not change.
+ *
+ * On the first tick after the client becomes active again, consumeResume()
+ * returns true once so callers can resync (invalidate the lightmap) before
+ * the next frame is drawn. Pending rebuilds need no flush: their countdown
+ * already advanced by the elapsed ticks, so any that came due run on that
+ * same tick.
+ *
+ * Idle state is updated from the client tick only and read on the render
+ * thread; both are the main client thread, so no synchronisation is needed.
+ */
+public final class BetaIdleHelper {
+
+    /** Client ticks between throttled work passes while idle (1 second). */
+    public static final int IDLE_INTERVAL_TICKS = 20;
+
+    private static boolean idle      = false;
+    private static boolean resumed   = false;
+    private static int     idleTicks = 0;
+
+    private BetaIdleHelper() {}
+
+    /** Re-evaluates the idle state. Called once at the start of each client tick. */
+    public static void tick(Minecraft mc) {
+        boolean nowIdle = BetaGraphicsMod.isIdleThrottleEnabled()
+            && (mc.isGamePaused() || !Display.isActive());
+
+        if (nowIdle) {
+            if (!idle) idleTicks = 0;
+            idleTicks++;
+        } else if (idle) {
+            resumed = true;
+        }
+        idle = nowIdle;
+    }
+
+    /** True while the client is paused or unfocused. */
+    public static boolean isIdle() {
+        return idle;
+    }
+
+    /**
+     * True when periodic tick work should run this tick: always while active,
+     * once every IDLE_INTERVAL_TICKS while idle.
+     */
+    public static boolean shouldRunTickWork() {
+        return !idle || idleTicks % IDLE_INTERVAL_TICKS == 0;
+    }
+
+    /** Returns true exactly once after the client leaves the idle state. */
+    public static boolean consumeResume() {
+        if (!resumed) return false;
+        resumed = false;
+        return true;
+    }
+}
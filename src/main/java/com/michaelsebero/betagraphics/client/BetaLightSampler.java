@@ -0,0 +1,188 @@
+package com.michaelsebero.betagraphics.client;
+
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/**
+ * Light queries for Beta's brightness-driven effects, read straight from the
+ * chunk's light nibble arrays.
+ *
+ * World.getLightFromNeighbors and World.getLightBrightness go through the
+ * generic path on every call: coordinate bounds, a chunk-map lookup,
+ * getBlockState, then the section's NibbleArray accessors — up to six times
+ * over for blocks that take their neighbours' light. This class resolves the
+ * Chunk once per column (the last column is kept while it stays loaded) and
+ * indexes the section's block and sky nibble bytes itself:
+ *   light()      — World.getLightFromNeighbors, including the
+ *                  useNeighborBrightness max over up/east/west/south/north
+ *   brightness() — lightBrightnessTable[light()], i.e. World.getLightBrightness
+ *                  with the Beta table installed by the event handler
+ *   skyLight()   — World.getLightFromNeighborsFor(SKY), the sky half of
+ *                  getCombinedLight, for the outdoor test of ambient darkening
+ * skylightSubtracted is applied here from BetaLightmapHelper.getSkylightSubtracted,
+ * the same value the lightmap uses.
+ *
+ * Results are identical to the World methods, edge cases included:
+ *   light()    — 15 outside the ±30,000,000 world limit, 0 below y = 0, y
+ *                clamped to 255 above, 0 in columns that are not loaded (the
+ *                client's empty chunk), and 15 - subtracted in sky dimensions
+ *                for sections that were never allocated.
+ *   skyLight() — 0 without sky light; y < 0 read as y = 0; 15 above y = 255,
+ *                outside the world limit and in unloaded columns (the empty
+ *                chunk's defaultLightValue); for never-allocated sections 15
+ *                at or above the height map, else 0. Blocks with
+ *                useNeighborBrightness (slabs, stairs, farmland, grass path)
+ *                take the max of their five neighbours, so a player standing
+ *                on one outdoors still reads as outdoors.
+ *
+ * Used by BetaShadowHelper's world ground source (shadows),
+ * MixinRenderEntityItem (dropped items) and BetaFogHelper.tickAmbientDarken.
+ * Client thread only.
+ */
+public final class BetaLightSampler {
+
+    private static final int WORLD_LIMIT = 30000000;
+
+    private static World boundWorld  = null;
+    private static Chunk cachedChunk = null;
+    private static int   cachedX, cachedZ;
+
+    private BetaLightSampler() {}
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /** Equivalent of world.getLightFromNeighbors(new BlockPos(x, y, z)). */
+    public static int light(World world, int x, int y, int z) {
+        if (x < -WORLD_LIMIT || z < -WORLD_LIMIT || x >= WORLD_LIMIT || z >= WORLD_LIMIT) {
+            return 15;
+        }
+
+        int subtracted = BetaLightmapHelper.getSkylightSubtracted(world);
+        if (usesNeighborBrightness(world, x, y, z)) {
+            int l = lightAt(world, x, y + 1, z, subtracted);
+            l = Math.max(l, lightAt(world, x + 1, y, z, subtracted));
+            l = Math.max(l, lightAt(world, x - 1, y, z, subtracted));
+            l = Math.max(l, lightAt(world, x, y, z + 1, subtracted));
+            l = Math.max(l, lightAt(world, x, y, z - 1, subtracted));
+            return l;
+        }
+        return lightAt(world, x, y, z, subtracted);
+    }
+
+    /** Equivalent of world.getLightBrightness(new BlockPos(x, y, z)). */
+    public static float brightness(World world, int x, int y, int z) {
+        return brightness(world, light(world, x, y, z));
+    }
+
+    /** Brightness-table entry for an already sampled light level. */
+    public static float brightness(World world, int light) {
+        return world.provider.getLightBrightnessTable()[light];
+    }
+
+    /**
+     * Equivalent of world.getLightFromNeighborsFor(EnumSkyBlock.SKY, pos): the
+     * stored sky light with no subtraction, using the neighbour rule.
+     */
+    public static int skyLight(World world, int x, int y, int z) {
+        if (!world.provider.hasSkyLight()) return 0;
+        if (y < 0) y = 0;
+        if (!isValid(x, y, z)) return 15;
+
+        if (usesNeighborBrightness(world, x, y, z)) {
+            int l = skyLightAt(world, x, y + 1, z);
+            l = Math.max(l, skyLightAt(world, x + 1, y, z));
+            l = Math.max(l, skyLightAt(world, x - 1, y, z));
+            l = Math.max(l, skyLightAt(world, x, y, z + 1));
+            l = Math.max(l, skyLightAt(world, x, y, z - 1));
+            return l;
+        }
+        return skyLightAt(world, x, y, z);
+    }
+
+    /**
+     * Drops the cached World and Chunk so an unloaded client world can be
+     * collected. Called from BetaGraphicsEventHandler.onWorldUnload.
+     */
+    public static void unbindWorld() {
+        boundWorld  = null;
+        cachedChunk = null;
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /** Chunk.getLightSubtracted for one position (World.getLight, no neighbours). */
+    private static int lightAt(World world, int x, int y, int z, int subtracted) {
+        if (y < 0) return 0;
+        if (y > 255) y = 255;
+
+        Chunk chunk = chunk(world, x, z);
+        if (chunk == null) return 0;
+
+        boolean sky = world.provider.hasSkyLight();
+        ExtendedBlockStorage section = chunk.getBlockStorageArray()[y >> 4];
+        if (section == Chunk.NULL_BLOCK_STORAGE) {
+            return sky && subtracted < 15 ? 15 - subtracted : 0;
+        }
+
+        int i = index(x, y, z);
+        int l = (sky ? nibble(section.getSkyLight().getData(), i) : 0) - subtracted;
+        return Math.max(l, nibble(section.getBlockLight().getData(), i));
+    }
+
+    /** World.getLightFor(SKY) for one position (no neighbour rule). */
+    private static int skyLightAt(World world, int x, int y, int z) {
+        if (y < 0) y = 0;
+        if (!isValid(x, y, z)) return 15;
+
+        Chunk chunk = chunk(world, x, z);
+        if (chunk == null) return 15;
+        ExtendedBlockStorage section = chunk.getBlockStorageArray()[y >> 4];
+        if (section == Chunk.NULL_BLOCK_STORAGE) {
+            return y >= chunk.getHeightValue(x & 15, z & 15) ? 15 : 0;
+        }
+        return nibble(section.getSkyLight().getData(), index(x, y, z));
+    }
+
+    /** World.isValid: inside the world limit and 0 <= y < 256. */
+    private static boolean isValid(int x, int y, int z) {
+        return x >= -WORLD_LIMIT && z >= -WORLD_LIMIT && x < WORLD_LIMIT && z < WORLD_LIMIT
+            && y >= 0 && y < 256;
+    }
+
+    private static boolean usesNeighborBrightness(World world, int x, int y, int z) {
+        if (y < 0 || y > 255) return false;
+        Chunk chunk = chunk(world, x, z);
+        if (chunk == null) return false;
+        ExtendedBlockStorage section = chunk.getBlockStorageArray()[y >> 4];
+        return section != Chunk.NULL_BLOCK_STORAGE
+            && section.get(x & 15, y & 15, z & 15).useNeighborBrightness();
+    }
+
+    /** Loaded chunk containing block column (x, z), or null. */
+    private static Chunk chunk(World world, int x, int z) {
+        int cx = x >> 4;
+        int cz = z >> 4;
+        if (world == boundWorld && cachedChunk != null && cachedX == cx && cachedZ == cz
+                && cachedChunk.isLoaded()) {
+            return cachedChunk;
+        }
+
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(cx, cz);
+        boundWorld  = world;
+        cachedChunk = chunk;
+        cachedX     = cx;
+        cachedZ     = cz;
+        return chunk;
+    }
+
+    /** NibbleArray index: y << 8 | z << 4 | x within the section. */
+    private static int index(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    private static int nibble(byte[] data, int index) {
+        int b = data[index >> 1];
+        return (index & 1) == 0 ? b & 15 : b >> 4 & 15;
+    }
+}
@@ -1,12 +1,22 @@
 package com.michaelsebero.betagraphics.client;
 
+import com.michaelsebero.betagraphics.core.BetaLightModel;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.EntityRenderer;
+import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.texture.DynamicTexture;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
 
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Replaces 1.12.2's EntityRenderer lightmap with Beta 1.7.3b's lighting algorithm.
@@ -23,15 +33,48 @@ import java.lang.reflect.Field;
  *   glColor4f(brightness, brightness, brightness, 1.0f)  // neutral white, no tint
  *
  * generateBetaLightmap() overwrites all 256 lightmap pixels with these values
- * and calls updateDynamicTexture() to upload them to GL. It is called in two ways:
- *   - By MixinEntityRenderer before each RETURN in updateLightmap (~60Hz),
- *     guaranteeing our values are the final GL upload each frame.
+ * and uploads the changed rows to GL (see below). It is called in two ways:
+ *   - By MixinEntityRenderer each frame (~60Hz): at HEAD of updateLightmap in
+ *     replacement mode (vanilla cancelled, single upload), or before each
+ *     RETURN in overwrite mode (our values are the final upload each frame).
  *   - Directly from BetaGraphicsEventHandler.onClientTick (20Hz) as a fallback.
  *
+ * Change detection:
+ *   The Beta output depends only on skylightSubtracted and the dimension's
+ *   lightBrightnessTable, which change a handful of times per in-game day. The
+ *   inputs of the last upload (skylightSubtracted, the dimension's lightmap
+ *   bank, and the target texture) are remembered; when all match, both the
+ *   pixel loop and the GL upload are skipped. The 20Hz fallback is therefore a
+ *   no-op whenever the per-frame path has already produced the current state.
+ *   In overwrite mode vanilla may have re-uploaded its own lightmap since our
+ *   last write, so MixinEntityRenderer calls invalidate() before regenerating.
+ *
+ * Per-dimension lightmap bank:
+ *   skylightSubtracted can only take 16 values, and the brightness table is
+ *   fixed per dimension at WorldEvent.Load. prepareBank() builds all 16 images
+ *   once per dimension (via BetaLightModel.fillLightmap) and caches them by
+ *   dimension id; revisiting a dimension reuses its bank unless the table
+ *   contents differ. During play a skylight change is a 256-int arraycopy of
+ *   a prebuilt image — no float math at all.
+ *
+ * Direct sub-image upload:
+ *   DynamicTexture.updateDynamicTexture() re-uploads all 256 texels through
+ *   TextureUtil's generic path and its shared buffer. uploadLightmap() instead
+ *   diffs the new image against the last uploaded one and pushes only the
+ *   changed rows (one row per sky level) with glTexSubImage2D on the lightmap
+ *   texture, from buffers allocated once. The Beta lightmap is neutral grey
+ *   with opaque alpha, so where the context accepts it (any compatibility
+ *   profile) rows are sent as GL_LUMINANCE bytes — 16 bytes per row instead of
+ *   64. Otherwise the native BGRA / UNSIGNED_INT_8_8_8_8_REV int layout is used,
+ *   and on pre-GL 1.2 contexts updateDynamicTexture() remains the fallback.
+ *   DynamicTexture's int[] is still kept in sync for anything that reads it.
+ *   The format is chosen from the BetaGLCaps snapshot and re-chosen whenever
+ *   that snapshot's generation changes (GL context recreated).
+ *
  * The EntityRenderer's DynamicTexture field is located by type scan rather than
  * name, making the lookup immune to SRG/MCP mapping differences across Forge builds.
  * World.skylightSubtracted is located by both its MCP and SRG names with a fallback
- * to calculateSkylightSubtracted(1.0F) if neither name is found.
+ * to BetaSkyHelper.skylightSubtracted (the day-cycle table) if neither name is found.
  */
 public final class BetaLightmapHelper {
 
@@ -70,38 +113,140 @@ public final class BetaLightmapHelper {
         SKYLIGHT_SUBTRACTED_FIELD = sky;
         if (SKYLIGHT_SUBTRACTED_FIELD == null) {
             System.out.println("[BetaGraphics] World.skylightSubtracted not found by name — "
-                + "falling back to calculateSkylightSubtracted(1.0F).");
+                + "falling back to BetaSkyHelper.skylightSubtracted.");
         }
     }
 
+    /**
+     * All 16 possible Beta lightmaps for one dimension, one per skylightSubtracted
+     * value, plus the brightness table they were built from.
+     */
+    private static final class LightmapBank {
+        final float[] table  = new float[16];
+        final int[][] images = new int[16][256];
+    }
+
+    /** Banks keyed by dimension id. Survive world changes; reused on revisit. */
+    private static final Map<Integer, LightmapBank> BANKS = new HashMap<>();
+
+    /** World the active bank was selected for, compared by identity each call. */
+    private static World        boundWorld = null;
+    private static LightmapBank activeBank = null;
+
+    private static final int UPLOAD_UNRESOLVED = 0;
+    private static final int UPLOAD_LUMINANCE  = 1;
+    private static final int UPLOAD_BGRA       = 2;
+    private static final int UPLOAD_FALLBACK   = 3;
+
+    /** Reusable direct upload buffers, sized for the full 16×16 lightmap. */
+    private static final ByteBuffer LUMINANCE_BUF = BufferUtils.createByteBuffer(256);
+    private static final IntBuffer  PIXEL_BUF     = BufferUtils.createIntBuffer(256);
+
+    /** Texels currently on the GPU; valid only while uploadedValid is true. */
+    private static final int[] uploaded      = new int[256];
+    private static boolean     uploadedValid = false;
+    private static int         uploadPath    = UPLOAD_UNRESOLVED;
+
+    /** BetaGLCaps generation uploadPath was resolved against. */
+    private static int         uploadPathCaps = -1;
+
+    /** Inputs of the last successful upload. -1 = nothing uploaded yet. */
+    private static int            lastSkyLightSub = -1;
+    private static LightmapBank   lastBank        = null;
+    private static DynamicTexture lastTexture     = null;
+
     private BetaLightmapHelper() {}
 
     /**
-     * Overwrites the EntityRenderer lightmap texture with Beta 1.7.3b's values.
-     *
-     * Fills the 16×16 lightmap using Beta's max(sky, block) logic pre-baked per
-     * (sky, block) index pair. Output is neutral white with no gamma, no tint,
-     * and no post-processing. Calls updateDynamicTexture() to upload to GL.
+     * Forgets the inputs of the last upload so the next generateBetaLightmap()
+     * call rewrites and re-uploads the texture unconditionally.
      */
-    public static void generateBetaLightmap() {
-        if (LIGHTMAP_TEXTURE_FIELD == null) return;
+    public static void invalidate() {
+        lastSkyLightSub = -1;
+        lastBank        = null;
+        lastTexture     = null;
+        uploadedValid   = false;
+    }
 
-        Minecraft mc = Minecraft.getMinecraft();
-        if (mc == null || mc.world == null || mc.entityRenderer == null) return;
+    /**
+     * Drops the World the active bank was selected for so an unloaded client
+     * world can be collected. The banks themselves hold no World and are kept.
+     * Called from BetaGraphicsEventHandler.onWorldUnload.
+     */
+    public static void unbindWorld() {
+        boundWorld = null;
+        activeBank = null;
+    }
 
-        World world = mc.world;
+    /**
+     * Returns the lightmap bank for {@code world}'s dimension, building it if it
+     * does not exist yet or if the cached bank was built from a different
+     * brightness table. Called from BetaGraphicsEventHandler.onWorldLoad right
+     * after patchLightBrightnessTable, so the bank is ready before the first frame.
+     */
+    public static void prepareBank(World world) {
+        bankFor(world);
+    }
+
+    private static LightmapBank bankFor(World world) {
+        float[] lbt = world.provider.getLightBrightnessTable();
+        Integer dim = world.provider.getDimension();
+
+        LightmapBank bank = BANKS.get(dim);
+        if (bank != null && Arrays.equals(bank.table, lbt)) {
+            return bank;
+        }
 
+        bank = new LightmapBank();
+        System.arraycopy(lbt, 0, bank.table, 0, 16);
+        for (int sub = 0; sub < 16; sub++) {
+            BetaLightModel.fillLightmap(bank.images[sub], bank.table, sub);
+        }
+        BANKS.put(dim, bank);
+        return bank;
+    }
+
+    /**
+     * World.skylightSubtracted for {@code world}, clamped to [0, 15]: the field
+     * the client world updates each tick, or BetaSkyHelper.skylightSubtracted
+     * if the field could not be located. Shared with BetaLightSampler.
+     */
+    public static int getSkylightSubtracted(World world) {
         int skyLightSub;
         if (SKYLIGHT_SUBTRACTED_FIELD != null) {
             try {
                 skyLightSub = SKYLIGHT_SUBTRACTED_FIELD.getInt(world);
             } catch (IllegalAccessException e) {
-                skyLightSub = world.calculateSkylightSubtracted(1.0F);
+                skyLightSub = BetaSkyHelper.skylightSubtracted(world);
             }
         } else {
-            skyLightSub = world.calculateSkylightSubtracted(1.0F);
+            skyLightSub = BetaSkyHelper.skylightSubtracted(world);
+        }
+        return MathHelper.clamp(skyLightSub, 0, 15);
+    }
+
+    /**
+     * Overwrites the EntityRenderer lightmap texture with Beta 1.7.3b's values.
+     *
+     * Copies the prebuilt image for the current skylightSubtracted out of the
+     * dimension's bank and uploads the changed rows to GL. No float math runs
+     * here. Returns without touching the texture when the selected image and
+     * target texture match the last upload.
+     */
+    public static void generateBetaLightmap() {
+        if (LIGHTMAP_TEXTURE_FIELD == null) return;
+
+        Minecraft mc = Minecraft.getMinecraft();
+        if (mc == null || mc.world == null || mc.entityRenderer == null) return;
+
+        World world = mc.world;
+        if (world != boundWorld) {
+            activeBank = bankFor(world);
+            boundWorld = world;
         }
 
+        int skyLightSub = getSkylightSubtracted(world);
+
         DynamicTexture lightmapTexture;
         try {
             lightmapTexture = (DynamicTexture) LIGHTMAP_TEXTURE_FIELD.get(mc.entityRenderer);
@@ -110,23 +255,94 @@ public final class BetaLightmapHelper {
         }
         if (lightmapTexture == null) return;
 
+        if (lightmapTexture == lastTexture && activeBank == lastBank
+                && skyLightSub == lastSkyLightSub) {
+            return;
+        }
+
         int[] pixels = lightmapTexture.getTextureData();
         if (pixels == null || pixels.length < 256) return;
 
-        float[] lbt = world.provider.getLightBrightnessTable();
+        if (lightmapTexture != lastTexture) uploadedValid = false;
+
+        int[] image = activeBank.images[skyLightSub];
+        System.arraycopy(image, 0, pixels, 0, 256);
+        uploadLightmap(lightmapTexture, image);
+
+        lastTexture     = lightmapTexture;
+        lastBank        = activeBank;
+        lastSkyLightSub = skyLightSub;
+    }
+
+    /**
+     * Uploads the rows of {@code image} that differ from what is already on the
+     * GPU, using the most compact format the context supports.
+     */
+    private static void uploadLightmap(DynamicTexture texture, int[] image) {
+        BetaGLCaps caps = BetaGLCaps.current();
+        if (uploadPath == UPLOAD_UNRESOLVED || uploadPathCaps != caps.generation) {
+            // New or recreated context: the texture contents are unknown too.
+            uploadPath     = resolveUploadPath(caps);
+            uploadPathCaps = caps.generation;
+            uploadedValid  = false;
+        }
+        if (uploadPath == UPLOAD_FALLBACK) {
+            texture.updateDynamicTexture();
+            return;
+        }
 
-        for (int skyIndex = 0; skyIndex < 16; skyIndex++) {
-            int effectiveSky = Math.max(0, skyIndex - skyLightSub);
+        int firstRow = 0;
+        int lastRow  = 15;
+        if (uploadedValid) {
+            firstRow = 16;
+            lastRow  = -1;
+            for (int i = 0; i < 256; i++) {
+                if (image[i] != uploaded[i]) {
+                    int row = i >> 4;
+                    if (row < firstRow) firstRow = row;
+                    lastRow = row;
+                }
+            }
+            if (lastRow < 0) return;
+        }
 
-            for (int blockIndex = 0; blockIndex < 16; blockIndex++) {
-                int   finalLight = Math.max(effectiveSky, blockIndex);
-                float brightness = MathHelper.clamp(lbt[finalLight], 0.0F, 1.0F);
-                int   b          = (int)(brightness * 255.0F);
+        int from  = firstRow * 16;
+        int count = (lastRow - firstRow + 1) * 16;
 
-                pixels[skyIndex * 16 + blockIndex] = 0xFF000000 | (b << 16) | (b << 8) | b;
+        GlStateManager.bindTexture(texture.getGlTextureId());
+        if (uploadPath == UPLOAD_LUMINANCE) {
+            LUMINANCE_BUF.clear();
+            for (int i = from; i < from + count; i++) {
+                LUMINANCE_BUF.put((byte) image[i]);
             }
+            LUMINANCE_BUF.flip();
+            GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, firstRow, 16, lastRow - firstRow + 1,
+                GL11.GL_LUMINANCE, GL11.GL_UNSIGNED_BYTE, LUMINANCE_BUF);
+        } else {
+            PIXEL_BUF.clear();
+            PIXEL_BUF.put(image, from, count);
+            PIXEL_BUF.flip();
+            GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, firstRow, 16, lastRow - firstRow + 1,
+                GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, PIXEL_BUF);
         }
 
-        lightmapTexture.updateDynamicTexture();
+        System.arraycopy(image, from, uploaded, from, count);
+        uploadedValid = true;
+    }
+
+    /**
+     * Picks the upload format once per GL context. GL_LUMINANCE is only legal
+     * outside core profiles; BGRA packed ints require GL 1.2.
+     */
+    private static int resolveUploadPath(BetaGLCaps caps) {
+        int path;
+        if (caps.fixedFunctionFormats()) path = UPLOAD_LUMINANCE;
+        else if (caps.openGL12)          path = UPLOAD_BGRA;
+        else                             path = UPLOAD_FALLBACK;
+        System.out.println("[BetaGraphics] Lightmap upload path: "
+            + (path == UPLOAD_LUMINANCE ? "GL_LUMINANCE sub-image"
+             : path == UPLOAD_BGRA      ? "BGRA sub-image"
+             :                            "DynamicTexture fallback") + ".");
+        return path;
     }
 }
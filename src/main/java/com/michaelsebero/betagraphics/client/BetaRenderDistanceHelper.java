@@ -0,0 +1,88 @@
+package com.michaelsebero.betagraphics.client;
+
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.culling.ICamera;
+import net.minecraft.util.math.AxisAlignedBB;
+
+/**
+ * Restricts terrain to the distance the player can actually see through fog.
+ *
+ * Under water and lava, setupBetaFog switches to GL_EXP fog (density 0.1 and
+ * 2.0), which is fully opaque after ≈55 and ≈2.8 blocks. Vanilla still walks,
+ * rebuilds and draws every chunk inside the full render distance. While the
+ * camera is submerged, MixinRenderGlobal routes setupTerrain's per-chunk
+ * frustum test (ICamera.isBoundingBoxInFrustum) through isChunkVisible(),
+ * which additionally rejects chunks lying entirely beyond the fog saturation
+ * distance (BetaFogCullHelper.isBeyondFog, same radial/planar metric as the
+ * entity culling).
+ *
+ * setupTerrain's flood fill only visits chunks that pass this test, and only
+ * visited chunks are drawn or queued for rebuild, so one check limits both.
+ * Chunks skipped while submerged keep their compiled geometry and dirty flag
+ * and are picked up again the moment the clamp lifts.
+ *
+ * The flood fill result is cached by RenderGlobal until the camera moves or
+ * displayListEntitiesDirty is set. update() runs at the start of every frame
+ * and forces a re-run whenever the clamp turns on, off, or changes medium, so
+ * surfacing restores full distance on the very next frame.
+ *
+ * Frame-time governor:
+ *   The same clamp applies in air while BetaFrameTimeHelper has pulled the fog
+ *   in below the chosen render distance. The saturation distance then follows
+ *   the governor's smoothed fog far plane, so chunks are dropped only once fog
+ *   fully covers them. While the fog slides, the flood fill is re-run every
+ *   REFILL_STEP_BLOCKS of movement rather than every frame.
+ */
+public final class BetaRenderDistanceHelper {
+
+    /** Governed fog distance changes smaller than this do not re-run the flood fill. */
+    private static final float REFILL_STEP_BLOCKS = 8.0F;
+
+    private static boolean clampActive = false;
+    private static int     clampMedium = BetaFrameHelper.MEDIUM_AIR;
+    private static int     clampBucket = -1;
+
+    private BetaRenderDistanceHelper() {}
+
+    /**
+     * Re-evaluates the clamp. Called from BetaFrameHelper.beginFrame after the
+     * camera snapshot and the frame-time governor have updated.
+     */
+    public static void update() {
+        int     medium    = BetaFrameHelper.getMedium();
+        boolean submerged = BetaGraphicsMod.isSubmergedClampEnabled()
+            && medium != BetaFrameHelper.MEDIUM_AIR;
+        boolean governed  = BetaFrameTimeHelper.isLimiting();
+        boolean active    = BetaFrameHelper.hasCamera() && (submerged || governed);
+        int     bucket    = governed
+            ? (int) (BetaFrameTimeHelper.getFogFarPlane() / REFILL_STEP_BLOCKS) : -1;
+
+        if (active == clampActive
+                && (!active || (medium == clampMedium && bucket == clampBucket))) {
+            return;
+        }
+
+        clampActive = active;
+        clampMedium = medium;
+        clampBucket = bucket;
+
+        Minecraft mc = Minecraft.getMinecraft();
+        if (mc.renderGlobal != null) {
+            mc.renderGlobal.setDisplayListEntitiesDirty();
+        }
+    }
+
+    /** True while terrain is being clamped to the fog saturation distance. */
+    public static boolean isClampActive() {
+        return clampActive;
+    }
+
+    /**
+     * Replacement for setupTerrain's camera.isBoundingBoxInFrustum(chunkBox).
+     */
+    public static boolean isChunkVisible(ICamera camera, AxisAlignedBB box) {
+        if (clampActive && BetaFogCullHelper.isBeyondFog(box)) return false;
+        return camera.isBoundingBoxInFrustum(box);
+    }
+}
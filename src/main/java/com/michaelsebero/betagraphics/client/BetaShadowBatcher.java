@@ -0,0 +1,246 @@
+package com.michaelsebero.betagraphics.client;
+
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.WorldVertexBufferUploader;
+import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+import org.lwjgl.opengl.GL11;
+
+import java.util.Arrays;
+
+/**
+ * Collects every Beta entity shadow of one entity pass into a single draw.
+ *
+ * Without batching, each shadow caster pays for its own Tessellator
+ * begin/draw, texture bind, blend setup and depthMask toggle — hundreds of
+ * tiny draw calls around a mob farm. Instead:
+ *   begin()   — HEAD of RenderGlobal.renderEntities (SRG: func_180446_a), via
+ *               MixinRenderGlobal. From here on shadows are batchable.
+ *   enqueue() — BetaShadowHelper records the shadow (position, size,
+ *               opacity, camera distance); nothing is emitted yet.
+ *   flush()   — RETURN of renderEntities. Requests are sorted nearest first
+ *               and emitted (POSITION_TEX_COLOR) into one frame-scoped
+ *               BufferBuilder until the frame's shadow budget is spent. Shadow
+ *               texture, blend and depthMask are set once and the whole batch
+ *               is drawn with one call.
+ * Forge runs renderEntities once per entity render pass, so each pass flushes
+ * its own batch.
+ *
+ * Budget:
+ *   BetaGraphicsMod.getShadowBudget() caps the shadows emitted per frame
+ *   (0 = no limit). The count is shared by every entity pass of the frame and
+ *   by BetaShadowHelper's immediate path (consumeImmediateBudget), so it holds
+ *   with shadowBatching=false too. Batched shadows are emitted nearest first,
+ *   so a crowd far away cannot push the shadows next to the player out.
+ *   Immediate shadows are drawn as they arrive and cannot be distance-sorted:
+ *   they take budget first come, first served.
+ *   Ordering uses one long per request — the float bits of the (non-negative)
+ *   squared distance above the request index — so a primitive sort gives
+ *   nearest-first with no comparator and no boxing.
+ *
+ * Quads are stored in the camera-relative space of the entity pass. A shadow
+ * is only batched if its render position really is camera-relative
+ * (isCameraRelative) — entities drawn under another transform (mob spawner
+ * previews, GUI renders, other mods' renderers) take BetaShadowHelper's
+ * immediate path unchanged, as does everything outside renderEntities.
+ *
+ * The lightmap is switched off for the flush. Shadow vertices carry no
+ * lightmap coordinate, so in the immediate path they picked up whatever
+ * coordinate the previous entity left behind; Beta's alpha already includes
+ * the light level.
+ *
+ * Render thread only.
+ */
+public final class BetaShadowBatcher {
+
+    private static final ResourceLocation SHADOW_TEXTURE =
+        new ResourceLocation("textures/misc/shadow.png");
+
+    /** Blocks of slack allowed when matching a render position to the camera. */
+    private static final double CAMERA_EPSILON = 1.0e-3D;
+
+    /** Initial capacity in ints (grows on demand): 256 quads of POSITION_TEX_COLOR. */
+    private static final BufferBuilder BATCH = new BufferBuilder(256 * 4 * 6);
+
+    private static final WorldVertexBufferUploader UPLOADER = new WorldVertexBufferUploader();
+
+    private static boolean batching = false;
+    private static boolean started  = false;
+
+    // Queued requests of the current pass, as parallel arrays (grown on demand).
+    private static double[]  reqX     = new double[64];
+    private static double[]  reqY     = new double[64];
+    private static double[]  reqZ     = new double[64];
+    private static double[]  reqEx    = new double[64];
+    private static double[]  reqEy    = new double[64];
+    private static double[]  reqEz    = new double[64];
+    private static float[]   reqSize  = new float[64];
+    private static float[]   reqAlpha = new float[64];
+    private static boolean[] reqLod   = new boolean[64];
+    private static long[]    order    = new long[64];
+    private static int       queued   = 0;
+
+    /** Frame the budget count belongs to, and shadows emitted in it so far. */
+    private static long budgetFrame      = -1L;
+    private static int  emittedThisFrame = 0;
+
+    private BetaShadowBatcher() {}
+
+    // ── Pass lifecycle ────────────────────────────────────────────────────────
+
+    /** Opens a batch for the entity pass about to run. */
+    public static void begin() {
+        discard();
+        batching = BetaGraphicsMod.isShadowBatchingEnabled();
+    }
+
+    /** Emits and draws everything queued during the entity pass and closes the batch. */
+    public static void flush() {
+        batching = false;
+        emitQueued();
+        if (!started) return;
+        started = false;
+
+        BATCH.finishDrawing();
+        if (BATCH.getVertexCount() == 0) {
+            BATCH.reset();
+            return;
+        }
+
+        Minecraft mc = Minecraft.getMinecraft();
+        mc.entityRenderer.disableLightmap();
+        GlStateManager.enableTexture2D();
+        GlStateManager.enableBlend();
+        GlStateManager.blendFunc(
+            GlStateManager.SourceFactor.SRC_ALPHA,
+            GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA
+        );
+        mc.getTextureManager().bindTexture(SHADOW_TEXTURE);
+        GlStateManager.depthMask(false);
+
+        UPLOADER.draw(BATCH);
+
+        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+        GlStateManager.disableBlend();
+        GlStateManager.depthMask(true);
+    }
+
+    /** Drops any half-built batch (e.g. a pass that threw before RETURN). */
+    private static void discard() {
+        queued = 0;
+        if (started) {
+            BATCH.finishDrawing();
+            BATCH.reset();
+            started = false;
+        }
+    }
+
+    /** Emits the queued shadows, nearest first, up to the frame's remaining budget. */
+    private static void emitQueued() {
+        int n = queued;
+        queued = 0;
+        if (n == 0) return;
+
+        World world = Minecraft.getMinecraft().world;
+        if (world == null) return;
+
+        int count = Math.min(n, remainingBudget());
+        if (count <= 0) return;
+        if (count < n) Arrays.sort(order, 0, n);
+        emittedThisFrame += count;
+
+        BufferBuilder    buf    = buffer();
+        BetaShadowGround ground = BetaShadowHelper.ground(world);
+        for (int k = 0; k < count; k++) {
+            int i = (int) order[k];
+            BetaShadowHelper.emitShadow(buf, ground,
+                reqX[i], reqY[i], reqZ[i], reqEx[i], reqEy[i], reqEz[i],
+                reqSize[i], reqAlpha[i], reqLod[i]);
+        }
+    }
+
+    /** Shadows still allowed this frame; Integer.MAX_VALUE without a budget. */
+    private static int remainingBudget() {
+        long frame = BetaFrameHelper.getFrameCounter();
+        if (frame != budgetFrame) {
+            budgetFrame      = frame;
+            emittedThisFrame = 0;
+        }
+        int budget = BetaGraphicsMod.getShadowBudget();
+        return budget > 0 ? budget - emittedThisFrame : Integer.MAX_VALUE;
+    }
+
+    // ── Queries for BetaShadowHelper ──────────────────────────────────────────
+
+    /**
+     * Counts one immediately drawn shadow against the frame's budget. Returns
+     * false, counting nothing, once the budget is spent.
+     */
+    static boolean consumeImmediateBudget() {
+        if (remainingBudget() <= 0) return false;
+        emittedThisFrame++;
+        return true;
+    }
+
+    /**
+     * True if a shadow for an entity at interpolated world position
+     * (ex, ey, ez), being drawn at render position (x, y, z), can join the
+     * current batch.
+     */
+    static boolean canBatch(RenderManager rm, double ex, double ey, double ez,
+            double x, double y, double z) {
+        return batching
+            && Math.abs(ex - rm.viewerPosX - x) < CAMERA_EPSILON
+            && Math.abs(ey - rm.viewerPosY - y) < CAMERA_EPSILON
+            && Math.abs(ez - rm.viewerPosZ - z) < CAMERA_EPSILON;
+    }
+
+    /**
+     * Queues one shadow of the current pass. (x, y, z) is the render position,
+     * (ex, eyBase, ez) the interpolated world position and distSq the squared
+     * camera distance used for ordering and the LOD choice.
+     */
+    static void enqueue(double x, double y, double z, double ex, double eyBase, double ez,
+            float size, float opacity, double distSq) {
+        int i = queued;
+        if (i == order.length) grow(i * 2);
+        reqX[i]     = x;
+        reqY[i]     = y;
+        reqZ[i]     = z;
+        reqEx[i]    = ex;
+        reqEy[i]    = eyBase;
+        reqEz[i]    = ez;
+        reqSize[i]  = size;
+        reqAlpha[i] = opacity;
+        reqLod[i]   = BetaShadowHelper.isSimplified(distSq);
+        order[i]    = (long) Float.floatToIntBits((float) distSq) << 32 | i;
+        queued = i + 1;
+    }
+
+    private static void grow(int capacity) {
+        reqX     = Arrays.copyOf(reqX, capacity);
+        reqY     = Arrays.copyOf(reqY, capacity);
+        reqZ     = Arrays.copyOf(reqZ, capacity);
+        reqEx    = Arrays.copyOf(reqEx, capacity);
+        reqEy    = Arrays.copyOf(reqEy, capacity);
+        reqEz    = Arrays.copyOf(reqEz, capacity);
+        reqSize  = Arrays.copyOf(reqSize, capacity);
+        reqAlpha = Arrays.copyOf(reqAlpha, capacity);
+        reqLod   = Arrays.copyOf(reqLod, capacity);
+        order    = Arrays.copyOf(order, capacity);
+    }
+
+    /** The batch buffer, begun in GL_QUADS / POSITION_TEX_COLOR on first use. */
+    static BufferBuilder buffer() {
+        if (!started) {
+            BATCH.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX_COLOR);
+            started = true;
+        }
+        return BATCH;
+    }
+}
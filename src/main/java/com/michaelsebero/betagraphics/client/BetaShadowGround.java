@@ -0,0 +1,27 @@
+package com.michaelsebero.betagraphics.client;
+
+/**
+ * Per-block inputs of Beta's shadow footprint scan, as read by
+ * BetaShadowGroundCache and BetaShadowHelper.emitShadow.
+ *
+ * In game the source is the client world (BetaShadowHelper.ground: block
+ * state for the flags, BetaLightSampler for light and brightness). The JMH
+ * shadow benchmark supplies an array-backed implementation instead, so the
+ * scan, the cache and the quad emission can be measured without a World.
+ */
+public interface BetaShadowGround {
+
+    /** Block is not air. */
+    int NON_AIR = 1;
+    /** Block is a full block (IBlockState.isFullBlock); only set with NON_AIR. */
+    int FULL    = 2;
+
+    /** NON_AIR and FULL flags of the block at (x, y, z). */
+    int groundFlags(int x, int y, int z);
+
+    /** Equivalent of world.getLightFromNeighbors at (x, y, z). */
+    int light(int x, int y, int z);
+
+    /** Brightness-table entry for an already sampled light level. */
+    float brightness(int light);
+}
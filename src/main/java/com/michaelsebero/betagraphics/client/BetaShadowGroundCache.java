@@ -0,0 +1,140 @@
+package com.michaelsebero.betagraphics.client;
+
+import java.util.Arrays;
+
+/**
+ * Frame-scoped cache of the per-block inputs of Beta's shadow footprint scan.
+ *
+ * For every block of its footprint, each shadow caster asks three questions:
+ * is the block below non-air, is it a full block, and is the light level here
+ * above 3 (getLightFromNeighbors, up to six neighbour reads)? If so, it also
+ * needs getLightBrightness for the quad's alpha. Neighbouring entities — a
+ * mob farm, a pile of items — overlap heavily and used to repeat the same
+ * lookups. The answers are now kept per block position for the rest of the
+ * frame and shared by every caster. The answers come from a BetaShadowGround
+ * (in game the client world, read through BetaLightSampler); the brightness
+ * reuses the level already sampled.
+ *
+ * Layout:
+ *   Open addressing with linear probing over parallel primitive arrays,
+ *   keyed by the block position packed into a long (BlockPos.toLong layout).
+ *   Each slot holds the flags NON_AIR / FULL / LIT and the brightness.
+ *   Slots are stamped with a generation number; starting a new frame (or
+ *   world) just increments it, so clearing never touches or reallocates the
+ *   arrays. Questions are evaluated lazily in Beta's order, so a miss costs no
+ *   more than the uncached scan did. The generation is keyed on the frame and
+ *   the ground source's identity (one per World).
+ *
+ * When the table is three-quarters full the remaining misses of that frame are
+ * computed into a scratch slot without being stored, so probing stays short.
+ *
+ * Render thread only.
+ */
+final class BetaShadowGroundCache {
+
+    private static final byte NON_AIR = BetaShadowGround.NON_AIR;
+    private static final byte FULL    = BetaShadowGround.FULL;
+    private static final byte LIT     = 4;
+
+    private static final int CAPACITY    = 1 << 13;
+    private static final int MASK        = CAPACITY - 1;
+    private static final int MAX_ENTRIES = CAPACITY / 4 * 3;
+
+    /** Extra slot past the table used for misses once the table is full. */
+    private static final int SCRATCH = CAPACITY;
+
+    private static final long[]  keys       = new long[CAPACITY + 1];
+    private static final int[]   stamps     = new int[CAPACITY + 1];
+    private static final byte[]  flags      = new byte[CAPACITY + 1];
+    private static final float[] brightness = new float[CAPACITY + 1];
+
+    private static int              generation  = 1;
+    private static int              entries     = 0;
+    private static long             boundFrame  = -1L;
+    private static BetaShadowGround boundGround = null;
+
+    private BetaShadowGroundCache() {}
+
+    /**
+     * Brightness for a shadow quad on top of block (x, y - 1, z), or -1 if Beta
+     * draws no quad there (air below, not a full block, or light <= 3).
+     */
+    static float shadowBrightness(BetaShadowGround ground, int x, int y, int z) {
+        sync(ground);
+
+        long key = pack(x, y, z);
+        int  i   = slot(key);
+        while (stamps[i] == generation) {
+            if (keys[i] == key) return result(i);
+            i = (i + 1) & MASK;
+        }
+
+        if (entries >= MAX_ENTRIES) {
+            i = SCRATCH;
+        } else {
+            entries++;
+        }
+        keys[i]   = key;
+        stamps[i] = generation;
+        compute(ground, x, y, z, i);
+        return result(i);
+    }
+
+    private static float result(int i) {
+        return flags[i] == (NON_AIR | FULL | LIT) ? brightness[i] : -1.0F;
+    }
+
+    private static void compute(BetaShadowGround ground, int x, int y, int z, int i) {
+        byte f = 0;
+        brightness[i] = 0.0F;
+
+        // Condition 1: non-air block directly below.
+        int below = ground.groundFlags(x, y - 1, z);
+        if ((below & NON_AIR) != 0) {
+            f |= NON_AIR;
+
+            // Condition 2: Beta's Render.java line 118 — light must be > 3.
+            int light = ground.light(x, y, z);
+            if (light > 3) {
+                f |= LIT;
+
+                // renderShadowOnBlock only draws on full blocks.
+                if ((below & FULL) != 0) {
+                    f |= FULL;
+                    brightness[i] = ground.brightness(light);
+                }
+            }
+        }
+        flags[i] = f;
+    }
+
+    /** Forgets the bound ground source; the next lookup starts a new generation. */
+    static void unbindWorld() {
+        boundFrame  = -1L;
+        boundGround = null;
+    }
+
+    /** Starts a new generation when the frame or ground source changes. */
+    private static void sync(BetaShadowGround ground) {
+        long frame = BetaFrameHelper.getFrameCounter();
+        if (frame == boundFrame && ground == boundGround) return;
+        boundFrame  = frame;
+        boundGround = ground;
+        entries    = 0;
+        if (++generation == 0) {
+            // Wrapped after 2^32 frames: old stamps could alias, so wipe once.
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    /** BlockPos.toLong layout: 26 bits X, 12 bits Y, 26 bits Z. */
+    private static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | ((long) z & 0x3FFFFFFL);
+    }
+
+    private static int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & MASK;
+    }
+}
@@ -1,5 +1,6 @@
 package com.michaelsebero.betagraphics.client;
 
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.renderer.BufferBuilder;
@@ -30,12 +31,28 @@ import java.lang.reflect.Field;
  *
  * Render.shadowSize is located by type scan (first float field declared on
  * Render) rather than by name, making the lookup immune to SRG/MCP mapping
- * differences. A MutableBlockPos is reused across the inner loop to avoid
- * per-iteration heap allocation for large entities with wide shadow radii.
+ * differences. The per-block ground and light tests go through
+ * BetaShadowGroundCache, so overlapping footprints share one lookup per block
+ * per frame and the loop allocates nothing. The cache reads them from a
+ * BetaShadowGround; in game that is the client world (ground(World)).
  *
  * UV formula (centred on entity XZ, scaled by shadowSize):
  *   u = (entityX_render - blockCornerX_render) / (2 * shadowSize) + 0.5
  *   v = (entityZ_render - blockCornerZ_render) / (2 * shadowSize) + 0.5
+ *
+ * Inside RenderGlobal.renderEntities shadows are only queued into
+ * BetaShadowBatcher, which emits and draws all shadows of the pass at once;
+ * elsewhere (or under a non-camera transform) each shadow is drawn immediately.
+ *
+ * LOD (config category "shadows"):
+ *   beyond lodNearDistance — a single quad at the entity's feet, no scan
+ *                            (default 16, i.e. off: the quad is not clipped
+ *                            to block edges and overhangs ledges)
+ *   beyond farDistance     — no shadow
+ *   budget                 — shadows per frame; batched ones nearest first,
+ *                            immediate ones in call order
+ * Beta's own distance fade (opacity * (1 - distSq / 256)) already ends at 16
+ * blocks, so farDistance can only bring the cutoff closer.
  */
 public final class BetaShadowHelper {
 
@@ -67,8 +84,30 @@ public final class BetaShadowHelper {
         }
     }
 
+    /** Ground source for the current client world; replaced when the world changes. */
+    private static WorldGround worldGround = null;
+
     private BetaShadowHelper() {}
 
+    /**
+     * Drops the World references held by the ground source and its cache so an
+     * unloaded client world can be collected. Called from
+     * BetaGraphicsEventHandler.onWorldUnload.
+     */
+    public static void unbindWorld() {
+        worldGround = null;
+        BetaShadowGroundCache.unbindWorld();
+    }
+
+    /** The BetaShadowGround reading {@code world}; one instance per World. */
+    static BetaShadowGround ground(World world) {
+        WorldGround g = worldGround;
+        if (g == null || g.world != world) {
+            worldGround = g = new WorldGround(world);
+        }
+        return g;
+    }
+
     /**
      * Full replacement for {@code Render.renderShadow}.
      * Parameters match the 1.12.2 signature exactly.
@@ -98,26 +137,27 @@ public final class BetaShadowHelper {
         World world = rm.world;
         if (world == null) return;
 
+        // LOD: no shadow at all past the far distance.
+        double distSq = x * x + y * y + z * z;
+        float  far    = BetaGraphicsMod.getShadowFarDistance();
+        if (distSq > (double) (far * far)) return;
+
         // Interpolated entity world position.
         // eyBase: pure interpolated Y with no shadow offset — used for the
         // render-to-world offset calculation so offY == -rm.viewerPosY exactly.
-        // ey: eyBase + shadowSize, used for height-above-block comparisons,
-        // matching Beta's var15 = lastTickPosY + (posY - lastTickPosY) * pt + getShadowSize().
         double ex     = entity.lastTickPosX + (entity.posX - entity.lastTickPosX) * partialTicks;
         double eyBase = entity.lastTickPosY + (entity.posY - entity.lastTickPosY) * partialTicks;
         double ez     = entity.lastTickPosZ + (entity.posZ - entity.lastTickPosZ) * partialTicks;
-        double ey     = eyBase + shadowSize;
 
-        double offX = x - ex;
-        double offY = y - eyBase;
-        double offZ = z - ez;
+        // Batched: only queue the request; the batcher sorts by distance,
+        // applies the budget and emits the quads at the end of the pass.
+        if (BetaShadowBatcher.canBatch(rm, ex, eyBase, ez, x, y, z)) {
+            BetaShadowBatcher.enqueue(x, y, z, ex, eyBase, ez, shadowSize, shadowOpacity, distSq);
+            return;
+        }
 
-        int minX = MathHelper.floor(ex - shadowSize);
-        int maxX = MathHelper.floor(ex + shadowSize);
-        int minY = MathHelper.floor(ey - shadowSize);
-        int maxY = MathHelper.floor(ey);
-        int minZ = MathHelper.floor(ez - shadowSize);
-        int maxZ = MathHelper.floor(ez + shadowSize);
+        // Immediate: drawn now, so the budget is taken in call order.
+        if (!BetaShadowBatcher.consumeImmediateBudget()) return;
 
         GlStateManager.enableBlend();
         GlStateManager.blendFunc(
@@ -131,36 +171,106 @@ public final class BetaShadowHelper {
         BufferBuilder buf = tess.getBuffer();
         buf.begin(7 /* GL_QUADS */, DefaultVertexFormats.POSITION_TEX_COLOR);
 
-        BlockPos.MutableBlockPos mpos = new BlockPos.MutableBlockPos();
+        emitShadow(buf, ground(world), x, y, z, ex, eyBase, ez, shadowSize, shadowOpacity,
+            isSimplified(distSq));
+
+        tess.draw();
+
+        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+        GlStateManager.disableBlend();
+        GlStateManager.depthMask(true);
+    }
+
+    /** True if a shadow this far (squared, in blocks) from the camera uses the single-quad LOD. */
+    static boolean isSimplified(double distSq) {
+        float near = BetaGraphicsMod.getShadowLodNearDistance();
+        return distSq > (double) (near * near);
+    }
+
+    /**
+     * Writes one entity's shadow quads into {@code buf} (GL_QUADS,
+     * POSITION_TEX_COLOR). (x, y, z) is the entity in render-camera space,
+     * (ex, eyBase, ez) its interpolated world position without the shadow
+     * offset. With {@code simplified} the footprint scan is replaced by a
+     * single quad at the entity's feet. Public for the shadow benchmark.
+     */
+    public static void emitShadow(BufferBuilder buf, BetaShadowGround ground,
+            double x, double y, double z, double ex, double eyBase, double ez,
+            float shadowSize, float shadowOpacity, boolean simplified) {
+
+        // ey: eyBase + shadowSize, used for height-above-block comparisons,
+        // matching Beta's var15 = lastTickPosY + (posY - lastTickPosY) * pt + getShadowSize().
+        double ey = eyBase + shadowSize;
+
+        double offX = x - ex;
+        double offY = y - eyBase;
+        double offZ = z - ez;
+
+        int minY = MathHelper.floor(ey - shadowSize);
+        int maxY = MathHelper.floor(ey);
+
+        if (simplified) {
+            renderFeetQuad(buf, ground, MathHelper.floor(ex), minY, maxY, MathHelper.floor(ez),
+                ey, x, z, offY, shadowOpacity, shadowSize);
+            return;
+        }
+
+        int minX = MathHelper.floor(ex - shadowSize);
+        int maxX = MathHelper.floor(ex + shadowSize);
+        int minZ = MathHelper.floor(ez - shadowSize);
+        int maxZ = MathHelper.floor(ez + shadowSize);
 
         for (int bx = minX; bx <= maxX; bx++) {
             for (int by = minY; by <= maxY; by++) {
                 for (int bz = minZ; bz <= maxZ; bz++) {
 
-                    // Condition 1: non-air block directly below.
-                    mpos.setPos(bx, by - 1, bz);
-                    IBlockState ground = world.getBlockState(mpos);
-                    if (ground.getMaterial() == Material.AIR) continue;
+                    // Beta's ground, full-block and light > 3 tests, shared by
+                    // every caster this frame through the ground cache.
+                    float brightness = BetaShadowGroundCache.shadowBrightness(ground, bx, by, bz);
+                    if (brightness < 0.0F) continue;
 
-                    // Condition 2: Beta's Render.java line 118 — light must be > 3.
-                    mpos.setPos(bx, by, bz);
-                    if (world.getLightFromNeighbors(mpos) <= 3) continue;
-
-                    renderShadowQuad(buf, ground, world,
+                    renderShadowQuad(buf, brightness,
                         bx, by, bz,
-                        ex, ey, ez, x, z,
+                        ey, x, z,
                         shadowOpacity, shadowSize,
-                        offX, offY, offZ,
-                        mpos);
+                        offX, offY, offZ);
                 }
             }
         }
+    }
 
-        tess.draw();
-
-        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
-        GlStateManager.disableBlend();
-        GlStateManager.depthMask(true);
+    /**
+     * Mid-range LOD: one shadow-sized quad centred under the entity, on the
+     * highest block of the footprint's Y range in the entity's own column that
+     * passes Beta's tests. Same alpha formula as renderShadowQuad; the quad is
+     * not clipped to block edges.
+     */
+    private static void renderFeetQuad(BufferBuilder buf, BetaShadowGround ground,
+            int bx, int minY, int maxY, int bz,
+            double ey, double rx, double rz, double offY,
+            float shadowOpacity, float shadowSize) {
+
+        for (int by = maxY; by >= minY; by--) {
+            float brightness = BetaShadowGroundCache.shadowBrightness(ground, bx, by, bz);
+            if (brightness < 0.0F) continue;
+
+            double alpha = ((double) shadowOpacity - (ey - by) / 2.0D) * 0.5D * brightness;
+            if (alpha < 0.0D) return;
+            if (alpha > 1.0D) alpha = 1.0D;
+            int a = (int) (alpha * 255.0D);
+
+            double x0 = rx - shadowSize;
+            double x1 = rx + shadowSize;
+            double qy = by + offY + 0.015625D;
+            double z0 = rz - shadowSize;
+            double z1 = rz + shadowSize;
+
+            buf.pos(x0, qy, z0).tex(1.0D, 1.0D).color(255, 255, 255, a).endVertex();
+            buf.pos(x0, qy, z1).tex(1.0D, 0.0D).color(255, 255, 255, a).endVertex();
+            buf.pos(x1, qy, z1).tex(0.0D, 0.0D).color(255, 255, 255, a).endVertex();
+            buf.pos(x1, qy, z0).tex(0.0D, 1.0D).color(255, 255, 255, a).endVertex();
+            return;
+        }
     }
 
     /**
@@ -169,21 +279,19 @@ public final class BetaShadowHelper {
      *
      * Alpha formula: (shadowOpacity - heightAboveBlock/2) * 0.5 * getLightBrightness
      * UV formula:    u/v centred on entity XZ, scaled by shadowSize * 2.
+     * The full-block test has already been applied by BetaShadowGroundCache.
      */
-    private static void renderShadowQuad(BufferBuilder buf, IBlockState state, World world,
+    private static void renderShadowQuad(BufferBuilder buf, float brightness,
             int bx, int by, int bz,
-            double ex, double ey, double ez, double rx, double rz,
+            double ey, double rx, double rz,
             float shadowOpacity, float shadowSize,
-            double offX, double offY, double offZ,
-            BlockPos.MutableBlockPos mpos) {
-
-        if (!state.isFullBlock()) return;
+            double offX, double offY, double offZ) {
 
         double heightAboveBlock = ey - by;
 
         double alpha = ((double) shadowOpacity - heightAboveBlock / 2.0D)
                         * 0.5D
-                        * world.getLightBrightness(mpos);
+                        * brightness;
 
         if (alpha < 0.0D) return;
         if (alpha > 1.0D) alpha = 1.0D;
@@ -207,4 +315,32 @@ public final class BetaShadowHelper {
         buf.pos(x1, qy, z1).tex(u1, v1).color(255, 255, 255, a).endVertex();
         buf.pos(x1, qy, z0).tex(u1, v0).color(255, 255, 255, a).endVertex();
     }
+
+    /** BetaShadowGround over a client world: block state below, light from BetaLightSampler. */
+    private static final class WorldGround implements BetaShadowGround {
+
+        final World world;
+        private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+        WorldGround(World world) {
+            this.world = world;
+        }
+
+        @Override
+        public int groundFlags(int x, int y, int z) {
+            IBlockState state = world.getBlockState(pos.setPos(x, y, z));
+            if (state.getMaterial() == Material.AIR) return 0;
+            return state.isFullBlock() ? NON_AIR | FULL : NON_AIR;
+        }
+
+        @Override
+        public int light(int x, int y, int z) {
+            return BetaLightSampler.light(world, x, y, z);
+        }
+
+        @Override
+        public float brightness(int light) {
+            return BetaLightSampler.brightness(world, light);
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package com.michaelsebero.betagraphics.client;
+
+import com.michaelsebero.betagraphics.core.BetaLightModel;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * Smooth biome blending for the Beta sky colour.
+ *
+ * Beta sampled the sky colour from the single biome under the player, so the
+ * whole sky snapped to a new colour at every biome border. This helper blends
+ * the base colours of the biomes around the player instead, without scanning
+ * biomes every frame.
+ *
+ * Sampling grid:
+ *   A GRID × GRID grid of chunk columns centred on the player's chunk. Each
+ *   cell holds the base sky colour of the biome at its column centre
+ *   (BetaSkyHelper.biomeSkyBase) plus the chunk coordinates it was sampled
+ *   for. Cells are stored toroidally (index = chunk coordinate mod GRID), so
+ *   when the player crosses a chunk boundary only the cells whose stored
+ *   coordinates no longer match — the newly exposed edge row or column — are
+ *   resampled. The other cells are reused unchanged.
+ *
+ * Unloaded columns:
+ *   A column whose chunk is not loaded on the client gets weight 0 rather than
+ *   a guessed biome. Such cells are retried at most RETRIES_PER_FRAME per
+ *   frame until their chunk arrives.
+ *
+ * Blend:
+ *   Each valid cell contributes with a separable tent weight on the distance
+ *   from the player to its column centre (half-width BLEND_RADIUS = HALF * 16
+ *   + 8 blocks). A column that enters or leaves the grid when the player
+ *   crosses a chunk boundary is exactly BLEND_RADIUS away at that moment, so
+ *   it has weight 0 and the colour changes continuously as the player moves. This is 25
+ *   multiply-adds per frame, and BetaSkyHelper memoises the result per frame.
+ *
+ * Render thread only.
+ */
+final class BetaSkyBlendHelper {
+
+    /** Grid width in chunk columns (odd, centred on the player's chunk). */
+    private static final int GRID = 5;
+    private static final int HALF = GRID / 2;
+
+    /** Tent half-width in blocks; edge columns enter and leave with weight 0. */
+    private static final double BLEND_RADIUS = BetaLightModel.chunkGridBlendRadius(HALF);
+
+    private static final int RETRIES_PER_FRAME = 1;
+
+    private static final float[]   cellRgb   = new float[GRID * GRID * 3];
+    private static final int[]     cellX     = new int[GRID * GRID];
+    private static final int[]     cellZ     = new int[GRID * GRID];
+    private static final boolean[] cellValid = new boolean[GRID * GRID];
+    private static final boolean[] cellSet   = new boolean[GRID * GRID];
+
+    private static World boundWorld = null;
+
+    private static final BlockPos.MutableBlockPos SAMPLE_POS = new BlockPos.MutableBlockPos();
+
+    private BetaSkyBlendHelper() {}
+
+    /**
+     * Writes the blended base sky colour around (x, z) into {@code out[0..2]}.
+     * Returns false (leaving {@code out} untouched) if no surrounding column is
+     * loaded yet, in which case the caller samples the single biome instead.
+     */
+    static boolean blendedBase(World world, double x, double z, float[] out) {
+        if (world != boundWorld) {
+            boundWorld = world;
+            Arrays.fill(cellSet, false);
+        }
+
+        int centreX = (int) Math.floor(x) >> 4;
+        int centreZ = (int) Math.floor(z) >> 4;
+        int retries = RETRIES_PER_FRAME;
+
+        float r = 0.0F, g = 0.0F, b = 0.0F, total = 0.0F;
+        for (int dz = -HALF; dz <= HALF; dz++) {
+            for (int dx = -HALF; dx <= HALF; dx++) {
+                int cx = centreX + dx;
+                int cz = centreZ + dz;
+                int i  = Math.floorMod(cz, GRID) * GRID + Math.floorMod(cx, GRID);
+
+                if (!cellSet[i] || cellX[i] != cx || cellZ[i] != cz) {
+                    sample(world, i, cx, cz);
+                } else if (!cellValid[i] && retries > 0) {
+                    retries--;
+                    sample(world, i, cx, cz);
+                }
+                if (!cellValid[i]) continue;
+
+                float w = BetaLightModel.tentWeight(cx * 16 + 8 - x, BLEND_RADIUS)
+                        * BetaLightModel.tentWeight(cz * 16 + 8 - z, BLEND_RADIUS);
+                r     += cellRgb[i * 3]     * w;
+                g     += cellRgb[i * 3 + 1] * w;
+                b     += cellRgb[i * 3 + 2] * w;
+                total += w;
+            }
+        }
+
+        if (total <= 0.0F) return false;
+        out[0] = r / total;
+        out[1] = g / total;
+        out[2] = b / total;
+        return true;
+    }
+
+    /** Forgets the bound world; the grid is resampled on the next call. */
+    static void unbindWorld() {
+        boundWorld = null;
+    }
+
+    private static void sample(World world, int i, int cx, int cz) {
+        cellSet[i] = true;
+        cellX[i]   = cx;
+        cellZ[i]   = cz;
+        SAMPLE_POS.setPos(cx * 16 + 8, 64, cz * 16 + 8);
+        cellValid[i] = world.isBlockLoaded(SAMPLE_POS);
+        if (cellValid[i]) {
+            BetaLightModel.unpackRgb(BetaSkyHelper.biomeSkyBase(world.getBiome(SAMPLE_POS)),
+                cellRgb, i * 3);
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.michaelsebero.betagraphics.client;
 
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
+import com.michaelsebero.betagraphics.core.BetaCelestialTable;
+import com.michaelsebero.betagraphics.core.BetaLightModel;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
 import net.minecraft.world.biome.Biome;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
 
-import java.awt.Color;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * Implements Beta 1.7.3b's sky colour system.
@@ -40,6 +45,43 @@ import java.awt.Color;
  * sky dome and fog. The seamless sky-to-fog transition comes entirely from
  * BetaFogHelper.setupBetaFog rendering GL_LINEAR fog over the sky dome.
  *
+ * The formulas themselves live in BetaLightModel (skyBaseColor, celestialBrightness,
+ * skyColor); this class only gathers the world inputs.
+ *
+ * Biome table:
+ *   Step 1 depends only on the biome's base temperature, so it is evaluated
+ *   for every registered biome once at post-init (buildBiomeSkyTable) and
+ *   stored per Biome instance. At call time only Steps 2 and 3 run, on a
+ *   reused BlockPos and scratch float[]; Color.HSBtoRGB is never called
+ *   during play. The table is keyed on the instance rather than the numeric
+ *   id: Forge remaps biome ids when joining a server with a different biome
+ *   set, and an id-indexed table would then give biomes each other's colour.
+ *
+ * Biome blending:
+ *   With skyBiomeBlend=true (default) the base colour is a tent-weighted blend
+ *   of the biomes in the 5×5 chunk columns around the viewer, maintained
+ *   incrementally by BetaSkyBlendHelper, so the sky no longer snaps at biome
+ *   borders. false restores Beta's single-biome sample.
+ *
+ * Per-frame memoisation:
+ *   Within one frame getSkyColor is asked the same question several times
+ *   (fog colour, sky dome, clouds). The last result is kept together with its
+ *   key — frame counter (BetaFrameHelper), world, view entity and partialTicks
+ *   — and returned as-is on a repeat call, including the same immutable Vec3d.
+ *   The celestial angle and rain/thunder strengths are memoised the same way
+ *   (celestialAngle/rainStrength/thunderStrength) and shared with BetaFogHelper.
+ *   Keys compare world and entity by identity, so a dimension change or a
+ *   spectated entity can never be served a stale colour.
+ *
+ * Day-cycle tables:
+ *   For the stock overworld provider (exact class WorldProviderSurface, which
+ *   keeps WorldProvider's celestial angle) the Step 2 brightness, the sunrise
+ *   fan colour and skylightSubtracted come from BetaCelestialTable — array
+ *   reads lerped by partialTicks — via celestialBrightness, sunriseColors and
+ *   skylightSubtracted. Other providers may redefine the day cycle and are
+ *   evaluated directly. The sky, fog colour, clouds, lightmap and dusk wave
+ *   all go through these three methods.
+ *
  * Moon phases:
  *   Beta had no moon phase system. getBetaMoonPhase() always returns 0, selecting
  *   the full-moon tile (u0=0, v0=0) in the 1.12.2 4×2 sprite sheet.
@@ -58,6 +100,34 @@ import java.awt.Color;
  */
 public final class BetaSkyHelper {
 
+    /** Cached sky colour for the key below. Render thread only. */
+    private static final float[] SKY_RGB = new float[3];
+
+    /** Cache key and lazily created Vec3d form of SKY_RGB. */
+    private static long   cachedFrame        = -1L;
+    private static World  cachedWorld        = null;
+    private static Entity cachedEntity       = null;
+    private static float  cachedPartialTicks = Float.NaN;
+    private static Vec3d  cachedVec          = null;
+
+    /** Per-frame celestial angle and weather factors, keyed by frame, world and partialTicks. */
+    private static long   factorFrame        = -1L;
+    private static World  factorWorld        = null;
+    private static float  factorPartialTicks = Float.NaN;
+    private static float  factorAngle, factorRain, factorThunder;
+
+    /** Beta HSB base sky colour (packed ARGB) per biome. Client thread only. */
+    private static final Map<Biome, Integer> BIOME_SKY_RGB = new IdentityHashMap<>();
+
+    /** Base (pre time-of-day) sky colour scratch. Render thread only. */
+    private static final float[] BASE_RGB = new float[3];
+
+    /** Sunrise fan colour scratch returned by sunriseColors. Render thread only. */
+    private static final float[] SUNRISE_RGBA = new float[4];
+
+    /** Reused sample position for the biome lookup. Render thread only. */
+    private static final BlockPos.MutableBlockPos SAMPLE_POS = new BlockPos.MutableBlockPos();
+
     private BetaSkyHelper() {}
 
     /**
@@ -83,47 +153,194 @@ public final class BetaSkyHelper {
             return Vec3d.ZERO;
         }
 
-        // Step 1: Beta's HSB biome sky colour.
-        BlockPos pos   = new BlockPos(entity);
-        Biome    biome = world.getBiome(pos);
-        float    temp  = MathHelper.clamp(biome.getDefaultTemperature() / 3.0F, -1.0F, 1.0F);
-
-        int rgb = Color.HSBtoRGB(
-            0.6222222F - temp * 0.05F,
-            0.5F       + temp * 0.1F,
-            1.0F
-        );
-
-        float r = ((rgb >> 16) & 0xFF) / 255.0F;
-        float g = ((rgb >>  8) & 0xFF) / 255.0F;
-        float b = ( rgb        & 0xFF) / 255.0F;
-
-        // Step 2: Time-of-day brightness scaling (func_4096_a).
-        // Applied here so both the sky dome and fog colour receive the same value.
-        float celestialAngle = world.getCelestialAngle(partialTicks);
-        float brightness = MathHelper.clamp(
-            MathHelper.cos(celestialAngle * (float) Math.PI * 2.0F) * 2.0F + 0.5F,
-            0.0F, 1.0F
-        );
-        r *= brightness * 0.94F + 0.06F;
-        g *= brightness * 0.94F + 0.06F;
-        b *= brightness * 0.91F + 0.09F;
+        if (!isCached(world, entity, partialTicks)) {
+            computeUncached(world, entity, partialTicks);
+        }
+        if (cachedVec == null) {
+            cachedVec = new Vec3d(SKY_RGB[0], SKY_RGB[1], SKY_RGB[2]);
+        }
+        return cachedVec;
+    }
 
-        // Step 3: Rain / thunder darkening.
-        float rain = world.getRainStrength(partialTicks);
-        if (rain > 0.0F) {
-            r *= 1.0F - rain * 0.5F;
-            g *= 1.0F - rain * 0.5F;
-            b *= 1.0F - rain * 0.2F;
+    /**
+     * Allocation-free form of getBetaSkyColor: writes r, g, b into
+     * {@code out[0..2]}. Sky-less dimensions receive black, matching the
+     * Vec3d.ZERO returned above. Used by BetaFogHelper's fog colour pass.
+     */
+    public static void computeBetaSkyColor(World world, Entity entity, float partialTicks,
+            float[] out) {
+        if (!world.provider.hasSkyLight()) {
+            out[0] = 0.0F;
+            out[1] = 0.0F;
+            out[2] = 0.0F;
+            return;
+        }
+
+        if (!isCached(world, entity, partialTicks)) {
+            computeUncached(world, entity, partialTicks);
+        }
+        out[0] = SKY_RGB[0];
+        out[1] = SKY_RGB[1];
+        out[2] = SKY_RGB[2];
+    }
+
+    /**
+     * Beta's cloud colour for this frame, written into {@code out[0..2]}.
+     * Uses the same memoised celestial angle and weather factors as the sky
+     * colour, so clouds darken and grey in step with the sky and fog.
+     */
+    public static void computeBetaCloudColor(World world, float partialTicks, float[] out) {
+        float brightness = celestialBrightness(world, partialTicks);
+        BetaLightModel.cloudColor(brightness, rainStrength(world, partialTicks),
+            thunderStrength(world, partialTicks), out);
+    }
+
+    // ── Day cycle ────────────────────────────────────────────────────────────
+
+    /** Beta's time-of-day brightness (Step 2 factor) for {@code world} this frame. */
+    public static float celestialBrightness(World world, float partialTicks) {
+        if (usesCelestialTable(world)) {
+            return BetaCelestialTable.brightness(world.getWorldTime(), partialTicks);
+        }
+        return BetaLightModel.celestialBrightness(celestialAngle(world, partialTicks));
+    }
+
+    /**
+     * Sunrise/sunset fan colour (r, g, b, a) for {@code world} this frame, or
+     * null outside the sunrise band. The returned array is reused; do not keep it.
+     */
+    public static float[] sunriseColors(World world, float partialTicks) {
+        if (usesCelestialTable(world)) {
+            return BetaCelestialTable.sunrise(world.getWorldTime(), partialTicks, SUNRISE_RGBA)
+                ? SUNRISE_RGBA : null;
+        }
+        return world.provider.calcSunriseSunsetColors(celestialAngle(world, partialTicks),
+            partialTicks);
+    }
+
+    /** Equivalent of world.calculateSkylightSubtracted(1.0F). */
+    public static int skylightSubtracted(World world) {
+        if (usesCelestialTable(world)) {
+            return BetaCelestialTable.skylightSubtracted(world.getWorldTime(),
+                world.getRainStrength(1.0F), world.getThunderStrength(1.0F));
+        }
+        return world.calculateSkylightSubtracted(1.0F);
+    }
+
+    private static boolean usesCelestialTable(World world) {
+        return world.provider.getClass() == WorldProviderSurface.class;
+    }
+
+    // ── Per-frame memoisation ────────────────────────────────────────────────
+
+    /** Celestial angle for {@code world} this frame, evaluated at most once per frame. */
+    public static float celestialAngle(World world, float partialTicks) {
+        updateFactors(world, partialTicks);
+        return factorAngle;
+    }
+
+    /** Rain strength for {@code world} this frame, evaluated at most once per frame. */
+    public static float rainStrength(World world, float partialTicks) {
+        updateFactors(world, partialTicks);
+        return factorRain;
+    }
+
+    /** Thunder strength for {@code world} this frame, evaluated at most once per frame. */
+    public static float thunderStrength(World world, float partialTicks) {
+        updateFactors(world, partialTicks);
+        return factorThunder;
+    }
+
+    /**
+     * Drops every cached World and Entity reference (and the biome blend
+     * grid's) so an unloaded client world can be collected. Called from
+     * BetaGraphicsEventHandler.onWorldUnload.
+     */
+    public static void unbindWorld() {
+        cachedFrame  = -1L;
+        cachedWorld  = null;
+        cachedEntity = null;
+        cachedVec    = null;
+        factorFrame  = -1L;
+        factorWorld  = null;
+        BetaSkyBlendHelper.unbindWorld();
+    }
+
+    private static void updateFactors(World world, float partialTicks) {
+        long frame = BetaFrameHelper.getFrameCounter();
+        if (frame == factorFrame && world == factorWorld && partialTicks == factorPartialTicks) {
+            return;
+        }
+        factorFrame        = frame;
+        factorWorld        = world;
+        factorPartialTicks = partialTicks;
+        factorAngle        = world.getCelestialAngle(partialTicks);
+        factorRain         = world.getRainStrength(partialTicks);
+        factorThunder      = world.getThunderStrength(partialTicks);
+    }
+
+    private static boolean isCached(World world, Entity entity, float partialTicks) {
+        return BetaFrameHelper.getFrameCounter() == cachedFrame
+            && world == cachedWorld && entity == cachedEntity
+            && partialTicks == cachedPartialTicks;
+    }
+
+    /** Computes the sky colour into SKY_RGB and makes it the cached entry. */
+    private static void computeUncached(World world, Entity entity, float partialTicks) {
+        // Step 1: Beta's HSB biome sky colour, precomputed per biome and
+        // optionally blended across the surrounding chunk columns.
+        if (!BetaGraphicsMod.isSkyBiomeBlendEnabled()
+                || !BetaSkyBlendHelper.blendedBase(world, entity.posX, entity.posZ, BASE_RGB)) {
+            SAMPLE_POS.setPos(entity.posX, entity.posY, entity.posZ);
+            BetaLightModel.unpackRgb(biomeSkyBase(world.getBiome(SAMPLE_POS)), BASE_RGB, 0);
         }
 
-        float thunder = world.getThunderStrength(partialTicks);
-        if (thunder > 0.0F) {
-            r *= 1.0F - thunder * 0.5F;
-            g *= 1.0F - thunder * 0.5F;
-            b *= 1.0F - thunder * 0.5F;
+        // Step 2: Time-of-day brightness scaling (func_4096_a), applied here so
+        // both the sky dome and fog colour receive the same value.
+        // Step 3: Rain / thunder darkening.
+        float brightness = celestialBrightness(world, partialTicks);
+        BetaLightModel.skyColor(BASE_RGB[0], BASE_RGB[1], BASE_RGB[2], brightness,
+            rainStrength(world, partialTicks), thunderStrength(world, partialTicks), SKY_RGB);
+
+        cachedFrame        = BetaFrameHelper.getFrameCounter();
+        cachedWorld        = world;
+        cachedEntity       = entity;
+        cachedPartialTicks = partialTicks;
+        cachedVec          = null;
+    }
+
+    // ── Moon ──────────────────────────────────────────────────────────────────
+
+    /** Beta had no moon phases: always the full-moon tile of moon_phases.png. */
+    public static int getBetaMoonPhase() {
+        return 0;
+    }
+
+    // ── Biome sky colour table ───────────────────────────────────────────────
+
+    /**
+     * Precomputes the Beta HSB base sky colour of every registered biome.
+     * Called from BetaGraphicsMod.postInit, once all mods have registered
+     * their biomes, so getBetaSkyColor never calls Color.HSBtoRGB in play.
+     */
+    public static void buildBiomeSkyTable() {
+        for (Biome biome : ForgeRegistries.BIOMES) {
+            BIOME_SKY_RGB.put(biome, BetaLightModel.skyBaseColor(biome.getDefaultTemperature()));
         }
+        System.out.println("[BetaGraphics] Precomputed Beta sky colours for "
+            + BIOME_SKY_RGB.size() + " biomes.");
+    }
 
-        return new Vec3d(r, g, b);
+    /**
+     * Table lookup for a biome's base sky colour. Biomes missing from the table
+     * (registered late) are computed once and stored.
+     */
+    static int biomeSkyBase(Biome biome) {
+        Integer rgb = BIOME_SKY_RGB.get(biome);
+        if (rgb == null) {
+            rgb = BetaLightModel.skyBaseColor(biome.getDefaultTemperature());
+            BIOME_SKY_RGB.put(biome, rgb);
+        }
+        return rgb;
     }
 }
@@ -0,0 +1,340 @@
+package com.michaelsebero.betagraphics.client;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.RenderHelper;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Beta 1.7.3b sky renderer built entirely from cached geometry.
+ *
+ * Replaces RenderGlobal.renderSky (SRG: func_174976_a) for surface worlds via
+ * MixinRenderGlobal, when no custom IRenderHandler is installed and anaglyph
+ * 3D is off (those cases keep vanilla's renderer).
+ *
+ * Geometry, built once per GL context (and again if the VBO option changes):
+ *   sky plane  — 13×13 quads of 64 blocks at y = +16 (Beta glSkyList)
+ *   void plane — the same grid at y = -16, wound downwards (Beta glSkyList2)
+ *   stars      — 1500 quads from Random(10842), identical to Beta and vanilla
+ *   sun / moon — one textured quad each (30 and 20 blocks at ±100)
+ *   sunrise    — 16-segment triangle fan, unit depth
+ * Each mesh is a BetaStaticMesh: a VertexBuffer when OpenGlHelper.useVbo() is
+ * on, otherwise a display list. The sunrise fan's positions are static too;
+ * its colour lives in a separate 18-entry client-side colour array that is
+ * rewritten only when the sunrise colour actually changes, and its
+ * alpha-dependent depth (vanilla re-tessellates with z = -cos * 40 * alpha
+ * every frame) is a GL scale.
+ *
+ * Per frame the pass is therefore a handful of colour/matrix changes and
+ * seven draw calls, with no tessellation at all.
+ *
+ * Beta differences from vanilla's renderSky, kept on purpose:
+ *   - The moon always shows the full-moon tile (BetaSkyHelper.getBetaMoonPhase);
+ *     Beta had no phases.
+ *   - The void plane is drawn at camera height - 16 in the (darkened) sky
+ *     colour, as Beta did; there is no 1.8+ horizon box below sea level.
+ * The sun/moon path keeps 1.12.2's orientation (rising in +X) so celestial
+ * positions stay consistent with the rest of the 1.12.2 world.
+ *
+ * Render thread only.
+ */
+public final class BetaSkyRenderer {
+
+    private static final ResourceLocation SUN_TEXTURE  =
+        new ResourceLocation("textures/environment/sun.png");
+    private static final ResourceLocation MOON_TEXTURE =
+        new ResourceLocation("textures/environment/moon_phases.png");
+
+    private static final int FAN_SEGMENTS = 16;
+    private static final int FAN_VERTICES = FAN_SEGMENTS + 2;
+
+    private static BetaStaticMesh skyMesh, voidMesh, starMesh, sunMesh, moonMesh, fanMesh;
+
+    private static boolean built               = false;
+    private static boolean builtWithVbo        = false;
+    private static int     builtCapsGeneration = -1;
+
+    /** Fan positions for the display-list path (client-side vertex array). */
+    private static final ByteBuffer FAN_POSITIONS = BufferUtils.createByteBuffer(FAN_VERTICES * 12);
+
+    /** Fan vertex colours (RGBA bytes), rewritten only when the sunrise colour changes. */
+    private static final ByteBuffer FAN_COLORS = BufferUtils.createByteBuffer(FAN_VERTICES * 4);
+    private static int fanColorKey = 0;
+
+    static {
+        FAN_POSITIONS.putFloat(0.0F).putFloat(100.0F).putFloat(0.0F);
+        for (int i = 0; i <= FAN_SEGMENTS; i++) {
+            float a = (float) i * ((float) Math.PI * 2.0F) / (float) FAN_SEGMENTS;
+            float s = MathHelper.sin(a);
+            float c = MathHelper.cos(a);
+            FAN_POSITIONS.putFloat(s * 120.0F).putFloat(c * 120.0F).putFloat(-c * 40.0F);
+        }
+        FAN_POSITIONS.flip();
+    }
+
+    private BetaSkyRenderer() {}
+
+    // ── Frame ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Draws the whole sky for the current frame. Called in place of
+     * RenderGlobal.renderSky after setupBetaFog's sky pass has set the fog.
+     */
+    public static void render(float partialTicks) {
+        Minecraft mc     = Minecraft.getMinecraft();
+        World     world  = mc.world;
+        Entity    entity = mc.getRenderViewEntity();
+        if (world == null || entity == null) return;
+
+        ensureBuilt();
+
+        Vec3d sky = world.getSkyColor(entity, partialTicks);
+        float r = (float) sky.x;
+        float g = (float) sky.y;
+        float b = (float) sky.z;
+
+        // Sky plane, fogged.
+        GlStateManager.disableTexture2D();
+        GlStateManager.depthMask(false);
+        GlStateManager.enableFog();
+        GlStateManager.color(r, g, b);
+        skyMesh.draw();
+        GlStateManager.disableFog();
+
+        GlStateManager.disableAlpha();
+        GlStateManager.enableBlend();
+        GlStateManager.tryBlendFuncSeparate(
+            GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA,
+            GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+        RenderHelper.disableStandardItemLighting();
+
+        // Sunrise / sunset fan.
+        float   angle   = BetaSkyHelper.celestialAngle(world, partialTicks);
+        float[] sunrise = BetaSkyHelper.sunriseColors(world, partialTicks);
+        if (sunrise != null) {
+            GlStateManager.shadeModel(GL11.GL_SMOOTH);
+            GlStateManager.pushMatrix();
+            GlStateManager.rotate(90.0F, 1.0F, 0.0F, 0.0F);
+            GlStateManager.rotate(angle > 0.5F ? 180.0F : 0.0F, 0.0F, 0.0F, 1.0F);
+            GlStateManager.rotate(90.0F, 0.0F, 0.0F, 1.0F);
+            GlStateManager.scale(1.0F, 1.0F, sunrise[3]);
+            drawFan(sunrise[0], sunrise[1], sunrise[2], sunrise[3]);
+            GlStateManager.popMatrix();
+            GlStateManager.shadeModel(GL11.GL_FLAT);
+        }
+
+        // Sun, moon and stars, faded out by rain.
+        float clear = 1.0F - BetaSkyHelper.rainStrength(world, partialTicks);
+        GlStateManager.enableTexture2D();
+        GlStateManager.tryBlendFuncSeparate(
+            GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE,
+            GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+        GlStateManager.pushMatrix();
+        GlStateManager.color(1.0F, 1.0F, 1.0F, clear);
+        GlStateManager.rotate(-90.0F, 0.0F, 1.0F, 0.0F);
+        GlStateManager.rotate(angle * 360.0F, 1.0F, 0.0F, 0.0F);
+        mc.getTextureManager().bindTexture(SUN_TEXTURE);
+        sunMesh.draw();
+        mc.getTextureManager().bindTexture(MOON_TEXTURE);
+        moonMesh.draw();
+        GlStateManager.disableTexture2D();
+
+        float stars = world.getStarBrightness(partialTicks) * clear;
+        if (stars > 0.0F) {
+            GlStateManager.color(stars, stars, stars, stars);
+            starMesh.draw();
+        }
+
+        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+        GlStateManager.disableBlend();
+        GlStateManager.enableAlpha();
+        GlStateManager.enableFog();
+        GlStateManager.popMatrix();
+
+        // Void plane below the camera (Beta glSkyList2).
+        if (world.provider.isSkyColored()) {
+            GlStateManager.color(r * 0.2F + 0.04F, g * 0.2F + 0.04F, b * 0.6F + 0.1F);
+        } else {
+            GlStateManager.color(r, g, b);
+        }
+        voidMesh.draw();
+
+        GlStateManager.enableTexture2D();
+        GlStateManager.depthMask(true);
+    }
+
+    private static void drawFan(float r, float g, float b, float a) {
+        int rb = (int) (r * 255.0F) & 0xFF;
+        int gb = (int) (g * 255.0F) & 0xFF;
+        int bb = (int) (b * 255.0F) & 0xFF;
+        int ab = (int) (a * 255.0F) & 0xFF;
+        int key = (rb << 24) | (gb << 16) | (bb << 8) | ab;
+        if (key != fanColorKey) {
+            fanColorKey = key;
+            FAN_COLORS.clear();
+            FAN_COLORS.put((byte) rb).put((byte) gb).put((byte) bb).put((byte) ab);
+            for (int i = 1; i < FAN_VERTICES; i++) {
+                FAN_COLORS.put((byte) rb).put((byte) gb).put((byte) bb).put((byte) 0);
+            }
+            FAN_COLORS.flip();
+        }
+
+        GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GlStateManager.glEnableClientState(GL11.GL_COLOR_ARRAY);
+        if (fanMesh.vbo != null) {
+            // Positions from the VBO; the pointer keeps referring to it after unbind.
+            fanMesh.vbo.bindBuffer();
+            GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, 12, 0);
+            fanMesh.vbo.unbindBuffer();
+        } else {
+            GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, 12, FAN_POSITIONS);
+        }
+        GlStateManager.glColorPointer(4, GL11.GL_UNSIGNED_BYTE, 4, FAN_COLORS);
+        GlStateManager.glDrawArrays(GL11.GL_TRIANGLE_FAN, 0, FAN_VERTICES);
+        GlStateManager.glDisableClientState(GL11.GL_COLOR_ARRAY);
+        GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+        GlStateManager.resetColor();
+    }
+
+    // ── Geometry ──────────────────────────────────────────────────────────────
+
+    /** (Re)builds all meshes on first use, after a context change, or on a VBO toggle. */
+    private static void ensureBuilt() {
+        boolean useVbo     = OpenGlHelper.useVbo();
+        int     generation = BetaGLCaps.current().generation;
+        if (built && useVbo == builtWithVbo && generation == builtCapsGeneration) return;
+
+        // Handles from a previous context are already gone; only free our own.
+        if (built && generation == builtCapsGeneration) {
+            skyMesh.delete();
+            voidMesh.delete();
+            starMesh.delete();
+            sunMesh.delete();
+            moonMesh.delete();
+            fanMesh.delete();
+        }
+
+        skyMesh  = BetaStaticMesh.build(useVbo, GL11.GL_QUADS, DefaultVertexFormats.POSITION,
+            buf -> buildPlane(buf, 16.0F, false));
+        voidMesh = BetaStaticMesh.build(useVbo, GL11.GL_QUADS, DefaultVertexFormats.POSITION,
+            buf -> buildPlane(buf, -16.0F, true));
+        starMesh = BetaStaticMesh.build(useVbo, GL11.GL_QUADS, DefaultVertexFormats.POSITION,
+            BetaSkyRenderer::buildStars);
+        sunMesh  = BetaStaticMesh.build(useVbo, GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX,
+            BetaSkyRenderer::buildSun);
+        moonMesh = BetaStaticMesh.build(useVbo, GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX,
+            BetaSkyRenderer::buildMoon);
+        fanMesh  = useVbo
+            ? BetaStaticMesh.build(true, GL11.GL_TRIANGLE_FAN, DefaultVertexFormats.POSITION,
+                  BetaSkyRenderer::buildFan)
+            : BetaStaticMesh.EMPTY;
+
+        built               = true;
+        builtWithVbo        = useVbo;
+        builtCapsGeneration = generation;
+        System.out.println("[BetaGraphics] Built Beta sky geometry ("
+            + (useVbo ? "VBO" : "display lists") + ").");
+    }
+
+    /** Beta's 64-block sky grid, ±384 around the camera, at height {@code y}. */
+    private static void buildPlane(BufferBuilder buf, float y, boolean downward) {
+        int step  = 64;
+        int range = step * (256 / step + 2);
+        for (int x = -range; x <= range; x += step) {
+            for (int z = -range; z <= range; z += step) {
+                if (downward) {
+                    buf.pos(x + step, y, z).endVertex();
+                    buf.pos(x,        y, z).endVertex();
+                    buf.pos(x,        y, z + step).endVertex();
+                    buf.pos(x + step, y, z + step).endVertex();
+                } else {
+                    buf.pos(x,        y, z).endVertex();
+                    buf.pos(x + step, y, z).endVertex();
+                    buf.pos(x + step, y, z + step).endVertex();
+                    buf.pos(x,        y, z + step).endVertex();
+                }
+            }
+        }
+    }
+
+    /** Beta's star field: 1500 candidates from a fixed seed, projected to radius 100. */
+    private static void buildStars(BufferBuilder buf) {
+        Random random = new Random(10842L);
+        for (int i = 0; i < 1500; i++) {
+            double x    = random.nextFloat() * 2.0F - 1.0F;
+            double y    = random.nextFloat() * 2.0F - 1.0F;
+            double z    = random.nextFloat() * 2.0F - 1.0F;
+            double size = 0.15F + random.nextFloat() * 0.1F;
+            double len  = x * x + y * y + z * z;
+            if (len >= 1.0D || len <= 0.01D) continue;
+
+            len = 1.0D / Math.sqrt(len);
+            x *= len;
+            y *= len;
+            z *= len;
+            double cx = x * 100.0D;
+            double cy = y * 100.0D;
+            double cz = z * 100.0D;
+            double yaw      = Math.atan2(x, z);
+            double sinYaw   = Math.sin(yaw);
+            double cosYaw   = Math.cos(yaw);
+            double pitch    = Math.atan2(Math.sqrt(x * x + z * z), y);
+            double sinPitch = Math.sin(pitch);
+            double cosPitch = Math.cos(pitch);
+            double roll     = random.nextDouble() * Math.PI * 2.0D;
+            double sinRoll  = Math.sin(roll);
+            double cosRoll  = Math.cos(roll);
+
+            for (int j = 0; j < 4; j++) {
+                double u  = (double) ((j & 2) - 1) * size;
+                double v  = (double) ((j + 1 & 2) - 1) * size;
+                double ru = u * cosRoll - v * sinRoll;
+                double rv = v * cosRoll + u * sinRoll;
+                double py = ru * sinPitch;
+                double pd = -ru * cosPitch;
+                buf.pos(cx + pd * sinYaw - rv * cosYaw, cy + py,
+                        cz + rv * sinYaw + pd * cosYaw).endVertex();
+            }
+        }
+    }
+
+    private static void buildSun(BufferBuilder buf) {
+        float s = 30.0F;
+        buf.pos(-s, 100.0D, -s).tex(0.0D, 0.0D).endVertex();
+        buf.pos( s, 100.0D, -s).tex(1.0D, 0.0D).endVertex();
+        buf.pos( s, 100.0D,  s).tex(1.0D, 1.0D).endVertex();
+        buf.pos(-s, 100.0D,  s).tex(0.0D, 1.0D).endVertex();
+    }
+
+    private static void buildMoon(BufferBuilder buf) {
+        float s     = 20.0F;
+        int   phase = BetaSkyHelper.getBetaMoonPhase();
+        float u0 = (float) (phase % 4)         / 4.0F;
+        float v0 = (float) (phase / 4 % 2)     / 2.0F;
+        float u1 = (float) (phase % 4 + 1)     / 4.0F;
+        float v1 = (float) (phase / 4 % 2 + 1) / 2.0F;
+        buf.pos(-s, -100.0D,  s).tex(u1, v1).endVertex();
+        buf.pos( s, -100.0D,  s).tex(u0, v1).endVertex();
+        buf.pos( s, -100.0D, -s).tex(u0, v0).endVertex();
+        buf.pos(-s, -100.0D, -s).tex(u1, v0).endVertex();
+    }
+
+    private static void buildFan(BufferBuilder buf) {
+        for (int i = 0; i < FAN_VERTICES; i++) {
+            buf.pos(FAN_POSITIONS.getFloat(i * 12), FAN_POSITIONS.getFloat(i * 12 + 4),
+                    FAN_POSITIONS.getFloat(i * 12 + 8)).endVertex();
+        }
+    }
+}
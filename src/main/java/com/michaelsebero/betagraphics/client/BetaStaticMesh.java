@@ -0,0 +1,102 @@
+package com.michaelsebero.betagraphics.client;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexBuffer;
+import net.minecraft.client.renderer.vertex.VertexFormat;
+import org.lwjgl.opengl.GL11;
+
+import java.util.function.Consumer;
+
+/**
+ * One static mesh, built once and drawn many times.
+ *
+ * Stored as a VertexBuffer when the caller asks for VBOs (OpenGlHelper.useVbo)
+ * and as a display list otherwise. Supports the two layouts the Beta sky and
+ * cloud renderers need: POSITION and POSITION_TEX. Geometry is written through
+ * the shared Tessellator buffer, so build() must run on the render thread
+ * outside any other tessellation.
+ *
+ * Owners are responsible for rebuilding after a GL context change
+ * (BetaGLCaps generation) and for calling delete() only on meshes that belong
+ * to the current context.
+ */
+final class BetaStaticMesh {
+
+    /** Placeholder that draws nothing and owns no GL objects. */
+    static final BetaStaticMesh EMPTY = new BetaStaticMesh(null, -1, 0, 0, false);
+
+    final VertexBuffer vbo;
+    final int          list;
+    final int          mode;
+    final int          stride;
+    final boolean      textured;
+
+    private BetaStaticMesh(VertexBuffer vbo, int list, int mode, int stride, boolean textured) {
+        this.vbo      = vbo;
+        this.list     = list;
+        this.mode     = mode;
+        this.stride   = stride;
+        this.textured = textured;
+    }
+
+    /**
+     * Builds a mesh of {@code mode} primitives in {@code format}; {@code geometry}
+     * writes the vertices into the (already begun) buffer.
+     */
+    static BetaStaticMesh build(boolean useVbo, int mode, VertexFormat format,
+            Consumer<BufferBuilder> geometry) {
+        Tessellator   tess     = Tessellator.getInstance();
+        BufferBuilder buf      = tess.getBuffer();
+        boolean       textured = format == DefaultVertexFormats.POSITION_TEX;
+
+        if (useVbo) {
+            buf.begin(mode, format);
+            geometry.accept(buf);
+            buf.finishDrawing();
+            buf.reset();
+            VertexBuffer vbo = new VertexBuffer(format);
+            vbo.bufferData(buf.getByteBuffer());
+            return new BetaStaticMesh(vbo, -1, mode, format.getSize(), textured);
+        }
+
+        int list = GLAllocation.generateDisplayLists(1);
+        GlStateManager.glNewList(list, GL11.GL_COMPILE);
+        buf.begin(mode, format);
+        geometry.accept(buf);
+        tess.draw();
+        GlStateManager.glEndList();
+        return new BetaStaticMesh(null, list, mode, format.getSize(), textured);
+    }
+
+    /** Draws the mesh with the current GL colour, texture and matrices. */
+    void draw() {
+        if (vbo == null) {
+            if (list >= 0) GlStateManager.callList(list);
+            return;
+        }
+
+        vbo.bindBuffer();
+        GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, stride, 0);
+        if (textured) {
+            OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+            GlStateManager.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+            GlStateManager.glTexCoordPointer(2, GL11.GL_FLOAT, stride, 12);
+        }
+        vbo.drawArrays(mode);
+        vbo.unbindBuffer();
+        if (textured) GlStateManager.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+        GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+    }
+
+    /** Frees the GL objects. Must only be called in the context that built them. */
+    void delete() {
+        if (vbo != null) vbo.deleteGlBuffers();
+        if (list >= 0)   GLAllocation.deleteDisplayLists(list);
+    }
+}
@@ -0,0 +1,107 @@
+package com.michaelsebero.betagraphics.core;
+
+/**
+ * Day-cycle lookup tables for the overworld, one entry per tick of the
+ * 24000-tick day.
+ *
+ * Everything the sky, fog colour and lightmap derive from the time of day is
+ * a pure function of worldTime mod 24000 (plus partialTicks), so it is
+ * evaluated once per tick position at startup instead of with cos/sin per
+ * call:
+ *   BRIGHTNESS — BetaLightModel.celestialBrightness (sky, fog and cloud colour)
+ *   SUN_FACTOR — BetaLightModel.sunFactor (skylightSubtracted)
+ *   SUNRISE    — BetaLightModel.sunriseColor RGBA, alpha 0 outside the band
+ *
+ * Interpolation:
+ *   brightness() and sunrise() lerp between tick t and t + 1 by partialTicks.
+ *   Both curves are smooth at tick scale, so the result matches the direct
+ *   evaluation to well under one 8-bit colour step.
+ *   skylightSubtracted() is always taken at a whole tick (the game evaluates
+ *   it with partialTicks = 1.0), so it reads the table exactly and matches
+ *   World.calculateSkylightSubtracted bit for bit.
+ *
+ * Only valid for providers that use WorldProvider's default
+ * calculateCelestialAngle; BetaSkyHelper checks that before using the tables.
+ * The tables are read-only once built and safe to read from any thread.
+ */
+public final class BetaCelestialTable {
+
+    public static final int DAY_TICKS = 24000;
+
+    private static final float[] BRIGHTNESS = new float[DAY_TICKS];
+    private static final float[] SUN_FACTOR = new float[DAY_TICKS];
+    private static final float[] SUNRISE    = new float[DAY_TICKS * 4];
+
+    private static volatile boolean built = false;
+
+    private BetaCelestialTable() {}
+
+    /** Fills all tables. Idempotent; called at post-init and lazily on first use. */
+    public static synchronized void build() {
+        if (built) return;
+
+        float[] rgba = new float[4];
+        for (int t = 0; t < DAY_TICKS; t++) {
+            float angle = BetaLightModel.celestialAngle(t, 0.0F);
+            BRIGHTNESS[t] = BetaLightModel.celestialBrightness(angle);
+            SUN_FACTOR[t] = BetaLightModel.sunFactor(angle);
+            if (BetaLightModel.sunriseColor(angle, rgba)) {
+                System.arraycopy(rgba, 0, SUNRISE, t * 4, 4);
+            }
+        }
+        built = true;
+    }
+
+    /** Beta sky brightness at {@code worldTime + partialTicks}. */
+    public static float brightness(long worldTime, float partialTicks) {
+        if (!built) build();
+        int t    = tick(worldTime);
+        int next = t + 1 == DAY_TICKS ? 0 : t + 1;
+        return BRIGHTNESS[t] + (BRIGHTNESS[next] - BRIGHTNESS[t]) * partialTicks;
+    }
+
+    /**
+     * Sunrise fan colour at {@code worldTime + partialTicks} into
+     * {@code out[0..3]}. Returns false, leaving {@code out} untouched, when
+     * neither neighbouring tick is inside the sunrise band.
+     */
+    public static boolean sunrise(long worldTime, float partialTicks, float[] out) {
+        if (!built) build();
+        int t    = tick(worldTime);
+        int next = t + 1 == DAY_TICKS ? 0 : t + 1;
+        int a    = t * 4;
+        int b    = next * 4;
+
+        boolean hasA = SUNRISE[a + 3] > 0.0F;
+        boolean hasB = SUNRISE[b + 3] > 0.0F;
+        if (!hasA && !hasB) return false;
+
+        // At the band edge, fade alpha only; keep the colour of the lit side.
+        if (!hasA) a = b;
+        if (!hasB) b = a;
+        out[0] = SUNRISE[a]     + (SUNRISE[b]     - SUNRISE[a])     * partialTicks;
+        out[1] = SUNRISE[a + 1] + (SUNRISE[b + 1] - SUNRISE[a + 1]) * partialTicks;
+        out[2] = SUNRISE[a + 2] + (SUNRISE[b + 2] - SUNRISE[a + 2]) * partialTicks;
+        float alphaA = hasA ? SUNRISE[t * 4 + 3]    : 0.0F;
+        float alphaB = hasB ? SUNRISE[next * 4 + 3] : 0.0F;
+        out[3] = alphaA + (alphaB - alphaA) * partialTicks;
+        return true;
+    }
+
+    /**
+     * World.calculateSkylightSubtracted(1.0F) for the given world time and
+     * current rain/thunder strength.
+     */
+    public static int skylightSubtracted(long worldTime, float rain, float thunder) {
+        if (!built) build();
+        int   t = tick(worldTime) + 1;
+        float f = SUN_FACTOR[t == DAY_TICKS ? 0 : t];
+        f = (float) ((double) f * (1.0D - (double) (rain    * 5.0F) / 16.0D));
+        f = (float) ((double) f * (1.0D - (double) (thunder * 5.0F) / 16.0D));
+        return (int) ((1.0F - f) * 11.0F);
+    }
+
+    private static int tick(long worldTime) {
+        return (int) Math.floorMod(worldTime, (long) DAY_TICKS);
+    }
+}
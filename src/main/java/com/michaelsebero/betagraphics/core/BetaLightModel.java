@@ -0,0 +1,351 @@
+package com.michaelsebero.betagraphics.core;
+
+import java.awt.Color;
+
+/**
+ * Beta 1.7.3b lighting and sky-colour math with no Minecraft or LWJGL dependencies.
+ *
+ * Every kernel here is a pure function of its arguments and writes into
+ * caller-supplied arrays, so none of them allocate. The client helpers
+ * (BetaLightmapHelper, BetaFogHelper, BetaSkyHelper) and
+ * BetaGraphicsEventHandler.patchLightBrightnessTable call into this class
+ * instead of carrying their own copies of the formulas, which lets the maths
+ * be exercised headlessly (benchmarks, reference comparisons) without a
+ * running client.
+ *
+ * Kernels:
+ *   fillBrightnessTable — WorldProvider.generateLightBrightnessTable with
+ *                         Beta's 0.1 ambient floor.
+ *   finalLight          — max(max(0, sky - skylightSubtracted), block).
+ *   fillLightmap        — one 16×16 neutral-grey lightmap image.
+ *   ambientDarkenStep   — fogColor1 += (ambient - fogColor1) * 0.1F.
+ *   skyBaseColor        — BiomeGenBase.getSkyColorByTemp (HSB formula).
+ *   skyColor            — WorldProvider.func_4096_a time-of-day scaling
+ *                         plus rain/thunder darkening.
+ *   celestialAngle      — WorldProvider.calculateCelestialAngle.
+ *   sunFactor           — World.getSunBrightnessFactor before weather.
+ *   sunriseColor        — WorldProvider.calcSunriseSunsetColors.
+ *   cloudColor          — World.func_628_d (Beta's cloud colour).
+ *   betaRenderDistance  — 1.12.2 chunk distance as Beta's 4-step option.
+ *   fogDistanceBlend    — how far the fog colour is pulled towards the sky.
+ *   fogColor            — WorldProvider.getFogColor for sky dimensions.
+ *   fogWeather          — updateFogColor's rain/thunder darkening.
+ *   tentWeight          — linear falloff weight for biome colour blending.
+ *
+ * Trigonometry:
+ *   sin/cos reproduce MathHelper's 65536-entry lookup table exactly (Beta and
+ *   1.12.2 share the same table), so results are bit-identical to the values
+ *   the game computed before the kernels were extracted.
+ */
+public final class BetaLightModel {
+
+    /** Beta's ambient floor. Vanilla 1.12.2 uses 0.05. */
+    public static final float BETA_AMBIENT = 0.1F;
+
+    /** Per-tick lerp rate of Beta's fogColor1 towards the local ambient value. */
+    public static final float AMBIENT_DARKEN_RATE = 0.1F;
+
+    private static final float[] SIN_TABLE = new float[65536];
+
+    static {
+        for (int i = 0; i < 65536; i++) {
+            SIN_TABLE[i] = (float) Math.sin((double) i * Math.PI * 2.0D / 65536.0D);
+        }
+    }
+
+    private BetaLightModel() {}
+
+    // ── Trigonometry (MathHelper parity) ─────────────────────────────────────
+
+    public static float sin(float value) {
+        return SIN_TABLE[(int) (value * 10430.378F) & 65535];
+    }
+
+    public static float cos(float value) {
+        return SIN_TABLE[(int) (value * 10430.378F + 16384.0F) & 65535];
+    }
+
+    public static float clamp(float value, float min, float max) {
+        return value < min ? min : (value > max ? max : value);
+    }
+
+    // ── Brightness table and lightmap ────────────────────────────────────────
+
+    /**
+     * Writes Beta's 16-entry brightness curve into {@code table}:
+     *   darkness = 1 - i / 15
+     *   table[i] = (1 - darkness) / (darkness * 3 + 1) * (1 - 0.1) + 0.1
+     */
+    public static void fillBrightnessTable(float[] table) {
+        for (int i = 0; i <= 15; i++) {
+            float darkness = 1.0F - (float) i / 15.0F;
+            table[i] = (1.0F - darkness) / (darkness * 3.0F + 1.0F)
+                            * (1.0F - BETA_AMBIENT)
+                            + BETA_AMBIENT;
+        }
+    }
+
+    /** Beta's combined light level: max(max(0, sky - skyLightSub), block). */
+    public static int finalLight(int skyLight, int blockLight, int skyLightSub) {
+        int effectiveSky = Math.max(0, skyLight - skyLightSub);
+        return Math.max(effectiveSky, blockLight);
+    }
+
+    /** Packs a brightness in [0, 1] as an opaque neutral-grey ARGB pixel. */
+    public static int lightmapPixel(float brightness) {
+        int b = (int) (clamp(brightness, 0.0F, 1.0F) * 255.0F);
+        return 0xFF000000 | (b << 16) | (b << 8) | b;
+    }
+
+    /**
+     * Fills one 16×16 lightmap image (row = sky level, column = block level)
+     * using Beta's max(sky, block) logic. {@code pixels} must hold 256 entries.
+     */
+    public static void fillLightmap(int[] pixels, float[] table, int skyLightSub) {
+        for (int skyIndex = 0; skyIndex < 16; skyIndex++) {
+            for (int blockIndex = 0; blockIndex < 16; blockIndex++) {
+                pixels[skyIndex * 16 + blockIndex] =
+                    lightmapPixel(table[finalLight(skyIndex, blockIndex, skyLightSub)]);
+            }
+        }
+    }
+
+    // ── Ambient darkening ────────────────────────────────────────────────────
+
+    /** One tick of Beta's fogColor1 tracking: current + (target - current) * 0.1. */
+    public static float ambientDarkenStep(float current, float target) {
+        return current + (target - current) * AMBIENT_DARKEN_RATE;
+    }
+
+    // ── Sky colour ───────────────────────────────────────────────────────────
+
+    /**
+     * Beta's BiomeGenBase.getSkyColorByTemp as packed RGB.
+     *   temp = clamp(temperature / 3, -1, 1)
+     *   HSB(0.6222222 - temp * 0.05, 0.5 + temp * 0.1, 1.0)
+     */
+    public static int skyBaseColor(float temperature) {
+        float temp = clamp(temperature / 3.0F, -1.0F, 1.0F);
+        return Color.HSBtoRGB(
+            0.6222222F - temp * 0.05F,
+            0.5F       + temp * 0.1F,
+            1.0F
+        );
+    }
+
+    /**
+     * WorldProvider.calculateCelestialAngle for the overworld:
+     *   f     = (worldTime mod 24000 + partialTicks) / 24000 - 0.25, wrapped to [0, 1]
+     *   angle = f + ((1 - (cos(f * PI) + 1) / 2) - f) / 3
+     * Negative world times are wrapped with floorMod.
+     */
+    public static float celestialAngle(long worldTime, float partialTicks) {
+        int   tick = (int) Math.floorMod(worldTime, 24000L);
+        float f    = ((float) tick + partialTicks) / 24000.0F - 0.25F;
+        if (f < 0.0F) f += 1.0F;
+        if (f > 1.0F) f -= 1.0F;
+        float eased = 1.0F - (float) ((Math.cos((double) f * Math.PI) + 1.0D) / 2.0D);
+        return f + (eased - f) / 3.0F;
+    }
+
+    /**
+     * World.getSunBrightnessFactor without weather, evaluated exactly as the
+     * game does: 1 - clamp(1 - (cos(angle * 2PI) * 2 + 0.5), 0, 1).
+     * skylightSubtracted = (int) ((1 - sunFactor * rainFactor * thunderFactor) * 11).
+     */
+    public static float sunFactor(float celestialAngle) {
+        float f = 1.0F - (cos(celestialAngle * ((float) Math.PI * 2.0F)) * 2.0F + 0.5F);
+        return 1.0F - clamp(f, 0.0F, 1.0F);
+    }
+
+    /**
+     * WorldProvider.calcSunriseSunsetColors: writes the sunrise fan's r, g, b, a
+     * into {@code out[0..3]} and returns true while the sun is within the
+     * sunrise band (|cos(angle * 2PI)| <= 0.4); returns false otherwise.
+     */
+    public static boolean sunriseColor(float celestialAngle, float[] out) {
+        float c = cos(celestialAngle * ((float) Math.PI * 2.0F));
+        if (c < -0.4F || c > 0.4F) return false;
+
+        float t     = c / 0.4F * 0.5F + 0.5F;
+        float alpha = 1.0F - (1.0F - sin(t * (float) Math.PI)) * 0.99F;
+        out[0] = t * 0.3F + 0.7F;
+        out[1] = t * t * 0.7F + 0.2F;
+        out[2] = 0.2F;
+        out[3] = alpha * alpha;
+        return true;
+    }
+
+    /** Beta's time-of-day factor: clamp(cos(angle * 2PI) * 2 + 0.5, 0, 1). */
+    public static float celestialBrightness(float celestialAngle) {
+        return clamp(cos(celestialAngle * (float) Math.PI * 2.0F) * 2.0F + 0.5F, 0.0F, 1.0F);
+    }
+
+    /**
+     * Scales a base sky colour by time of day and weather and writes r, g, b
+     * (each in [0, 1]) into {@code out[0..2]}.
+     *
+     *   r, g *= brightness * 0.94 + 0.06
+     *   b    *= brightness * 0.91 + 0.09
+     *   rain:    r, g *= 1 - rain * 0.5;    b *= 1 - rain * 0.2
+     *   thunder: r, g, b *= 1 - thunder * 0.5
+     */
+    public static void skyColor(int baseRgb, float brightness, float rain, float thunder,
+            float[] out) {
+        skyColor(((baseRgb >> 16) & 0xFF) / 255.0F,
+                 ((baseRgb >>  8) & 0xFF) / 255.0F,
+                 ( baseRgb        & 0xFF) / 255.0F,
+                 brightness, rain, thunder, out);
+    }
+
+    /**
+     * Unpacked form of skyColor, for base colours that are not a single packed
+     * biome colour (e.g. a weighted blend of several biomes).
+     */
+    public static void skyColor(float r, float g, float b, float brightness, float rain,
+            float thunder, float[] out) {
+        r *= brightness * 0.94F + 0.06F;
+        g *= brightness * 0.94F + 0.06F;
+        b *= brightness * 0.91F + 0.09F;
+
+        if (rain > 0.0F) {
+            r *= 1.0F - rain * 0.5F;
+            g *= 1.0F - rain * 0.5F;
+            b *= 1.0F - rain * 0.2F;
+        }
+
+        if (thunder > 0.0F) {
+            r *= 1.0F - thunder * 0.5F;
+            g *= 1.0F - thunder * 0.5F;
+            b *= 1.0F - thunder * 0.5F;
+        }
+
+        out[0] = r;
+        out[1] = g;
+        out[2] = b;
+    }
+
+    // ── Cloud colour ─────────────────────────────────────────────────────────
+
+    /**
+     * Beta's cloud colour (World.func_628_d) for the white cloud texture,
+     * written into {@code out[0..2]}:
+     *   rain:    mix towards luminance * 0.6 by rain * 0.95
+     *   r, g *= brightness * 0.9 + 0.1;    b *= brightness * 0.85 + 0.15
+     *   thunder: mix towards luminance * 0.2 by thunder * 0.95
+     * Luminance is 0.3 r + 0.59 g + 0.11 b.
+     */
+    public static void cloudColor(float brightness, float rain, float thunder, float[] out) {
+        float r = 1.0F, g = 1.0F, b = 1.0F;
+
+        if (rain > 0.0F) {
+            float grey = (r * 0.3F + g * 0.59F + b * 0.11F) * 0.6F;
+            float keep = 1.0F - rain * 0.95F;
+            r = r * keep + grey * (1.0F - keep);
+            g = g * keep + grey * (1.0F - keep);
+            b = b * keep + grey * (1.0F - keep);
+        }
+
+        r *= brightness * 0.9F  + 0.1F;
+        g *= brightness * 0.9F  + 0.1F;
+        b *= brightness * 0.85F + 0.15F;
+
+        if (thunder > 0.0F) {
+            float grey = (r * 0.3F + g * 0.59F + b * 0.11F) * 0.2F;
+            float keep = 1.0F - thunder * 0.95F;
+            r = r * keep + grey * (1.0F - keep);
+            g = g * keep + grey * (1.0F - keep);
+            b = b * keep + grey * (1.0F - keep);
+        }
+
+        out[0] = r;
+        out[1] = g;
+        out[2] = b;
+    }
+
+    // ── Fog colour ───────────────────────────────────────────────────────────
+
+    /**
+     * Beta's renderDistance option (0 = Far, 1 = Normal, 2 = Short, 3 = Tiny)
+     * for a 1.12.2 render distance in chunks. Beta's steps were 256, 128, 64
+     * and 32 blocks, so each step covers the slider range from its own
+     * distance up to the next one: 16+ chunks is Far, 8-15 Normal, 4-7 Short
+     * and anything lower Tiny.
+     */
+    public static int betaRenderDistance(int renderDistanceChunks) {
+        if (renderDistanceChunks >= 16) return 0;
+        if (renderDistanceChunks >= 8)  return 1;
+        if (renderDistanceChunks >= 4)  return 2;
+        return 3;
+    }
+
+    /**
+     * Fraction of the sky colour mixed into the fog colour, Beta's
+     * updateFogColor formula on the mapped renderDistance step:
+     *   1 - (1 / (4 - renderDistance)) ^ 0.25
+     * Far pulls the fog furthest towards the sky (≈0.29), Tiny not at all.
+     */
+    public static float fogDistanceBlend(int renderDistanceChunks) {
+        float f = 1.0F / (float) (4 - betaRenderDistance(renderDistanceChunks));
+        return 1.0F - (float) Math.pow(f, 0.25D);
+    }
+
+    /**
+     * Beta's overworld fog colour for a given celestial brightness, written
+     * into {@code out[0..2]}:
+     *   r = 0.7529412  * (brightness * 0.94 + 0.06)
+     *   g = 0.84705883 * (brightness * 0.94 + 0.06)
+     *   b = 1.0        * (brightness * 0.91 + 0.09)
+     */
+    public static void fogColor(float brightness, float[] out) {
+        out[0] = 0.7529412F  * (brightness * 0.94F + 0.06F);
+        out[1] = 0.84705883F * (brightness * 0.94F + 0.06F);
+        out[2] = 1.0F        * (brightness * 0.91F + 0.09F);
+    }
+
+    /**
+     * Applies updateFogColor's weather darkening to {@code rgb[0..2]} in place.
+     * The fog curve is steeper on blue than the sky curve (0.4 vs 0.2):
+     *   rain:    r, g *= 1 - rain * 0.5;    b *= 1 - rain * 0.4
+     *   thunder: r, g, b *= 1 - thunder * 0.5
+     */
+    public static void fogWeather(float rain, float thunder, float[] rgb) {
+        if (rain > 0.0F) {
+            rgb[0] *= 1.0F - rain * 0.5F;
+            rgb[1] *= 1.0F - rain * 0.5F;
+            rgb[2] *= 1.0F - rain * 0.4F;
+        }
+
+        if (thunder > 0.0F) {
+            rgb[0] *= 1.0F - thunder * 0.5F;
+            rgb[1] *= 1.0F - thunder * 0.5F;
+            rgb[2] *= 1.0F - thunder * 0.5F;
+        }
+    }
+
+    /** Unpacks a packed RGB colour into {@code out[offset..offset+2]}, each in [0, 1]. */
+    public static void unpackRgb(int rgb, float[] out, int offset) {
+        out[offset]     = ((rgb >> 16) & 0xFF) / 255.0F;
+        out[offset + 1] = ((rgb >>  8) & 0xFF) / 255.0F;
+        out[offset + 2] = ( rgb        & 0xFF) / 255.0F;
+    }
+
+    /**
+     * Tent weight of a sample {@code distance} blocks away for a blend of
+     * half-width {@code radius}: 1 at the centre, falling linearly to 0.
+     */
+    public static float tentWeight(double distance, double radius) {
+        double w = 1.0D - Math.abs(distance) / radius;
+        return w > 0.0D ? (float) w : 0.0F;
+    }
+
+    /**
+     * Tent half-width for a blend over the (2 * half + 1)-wide grid of chunk
+     * columns centred on the viewer's chunk. This is the largest radius at
+     * which a column entering or leaving the grid as the viewer crosses a
+     * chunk boundary has weight 0, so the blend does not jump.
+     */
+    public static double chunkGridBlendRadius(int half) {
+        return half * 16 + 8;
+    }
+}
@@ -1,27 +1,47 @@
 package com.michaelsebero.betagraphics.mixin;
 
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
 import com.michaelsebero.betagraphics.client.BetaFogHelper;
+import com.michaelsebero.betagraphics.client.BetaFrameHelper;
+import com.michaelsebero.betagraphics.client.BetaIdleHelper;
 import com.michaelsebero.betagraphics.client.BetaLightmapHelper;
 import net.minecraft.client.renderer.EntityRenderer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 /**
- * Mixin targeting EntityRenderer for three patches:
+ * Mixin targeting EntityRenderer for three patches and a frame hook:
  *
- * Patch 1: updateLightmap — @Inject at RETURN (SRG: func_78472_g)
- *   Vanilla updateLightmap runs completely first (including its own
- *   updateDynamicTexture call), then our inject overwrites all 256 lightmap
- *   pixels with Beta 1.7.3b's neutral-white max(sky,block) values and calls
- *   updateDynamicTexture() again. The final GL upload entering each frame is
- *   always ours.
+ * Frame hook: renderWorld — @Inject at HEAD (SRG: func_78471_a)
+ *   Calls BetaFrameHelper.beginFrame once per world frame, before any of the
+ *   patched methods below run, so per-frame caches start clean.
  *
- * Patch 2: updateFogColor — @Inject at RETURN (SRG: func_78466_h)
- *   Replicates Beta's fogColor1/fogColor2 ambient-darkening system by
- *   multiplying the GL clear colour by betaFogDarken each frame.
+ * Patch 1: updateLightmap — @Inject at HEAD and RETURN (SRG: func_78472_g)
+ *   Replacement mode (replaceVanillaLightmap=true, the default): the HEAD
+ *   inject generates the Beta lightmap and cancels, so vanilla's per-pixel
+ *   gamma/torch-flicker math and its upload never run. One upload per frame.
+ *
+ *   Overwrite mode (replaceVanillaLightmap=false): vanilla updateLightmap runs
+ *   completely first (including its own updateDynamicTexture call), then the
+ *   RETURN inject overwrites all 256 lightmap pixels with Beta 1.7.3b's
+ *   neutral-white max(sky,block) values and uploads again. Kept as a
+ *   compatibility fallback for mods that also hook updateLightmap.
+ *
+ * Patch 2: updateFogColor — @Inject at HEAD, @Redirect + @Inject at RETURN
+ *   (SRG: func_78466_h)
+ *   Replacement mode (replaceVanillaFogColor=true, the default): the HEAD
+ *   inject computes Beta's whole fog colour on the CPU, issues one clearColor
+ *   and cancels, so none of vanilla's fog colour work runs.
+ *
+ *   Vanilla mode (replaceVanillaFogColor=false): vanilla's GlStateManager.clearColor call is redirected so the colour it
+ *   computed is captured on the CPU instead of being sent to GL. The RETURN
+ *   inject then replicates Beta's fogColor1/fogColor2 ambient-darkening system
+ *   by multiplying that colour by betaFogDarken and issuing the only clearColor
+ *   of the pass. No GL_COLOR_CLEAR_VALUE readback is needed anywhere.
  *
  * Patch 3: setupFog — @Overwrite
  *   Full replacement with Beta 1.7.3b's fog model (water/lava/linear/sky/Nether).
@@ -37,18 +57,76 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 @Mixin(EntityRenderer.class)
 public abstract class MixinEntityRenderer {
 
+    /**
+     * Fires at HEAD of renderWorld(float, long) (SRG: func_78471_a).
+     * Marks the start of a world frame for BetaFrameHelper.
+     */
+    @Inject(method = "func_78471_a", at = @At("HEAD"), remap = false)
+    private void betaBeginFrame(float partialTicks, long finishTimeNano, CallbackInfo ci) {
+        BetaFrameHelper.beginFrame(partialTicks);
+    }
+
+    /**
+     * Fires at HEAD of updateLightmap (SRG: func_78472_g).
+     * In replacement mode, produces the Beta lightmap and skips vanilla entirely.
+     * While the client is idle vanilla is skipped in both modes and the texture
+     * is left as-is; the throttled tick path in BetaGraphicsEventHandler keeps
+     * it current.
+     */
+    @Inject(method = "func_78472_g", at = @At("HEAD"), cancellable = true, remap = false)
+    private void betaReplaceLightmap(float partialTicks, CallbackInfo ci) {
+        if (BetaIdleHelper.isIdle()) {
+            ci.cancel();
+            return;
+        }
+        if (!BetaGraphicsMod.isLightmapReplacementEnabled()) return;
+        BetaLightmapHelper.generateBetaLightmap();
+        ci.cancel();
+    }
+
     /**
      * Fires before each RETURN in updateLightmap (SRG: func_78472_g).
-     * Overwrites vanilla's gamma-lifted lightmap with Beta 1.7.3b values.
+     * Overwrite mode only: replaces vanilla's gamma-lifted lightmap with Beta
+     * 1.7.3b values. Never reached in replacement mode or while idle (both
+     * cancelled at HEAD).
+     * Vanilla may have uploaded its own pixels this frame, so change detection
+     * is bypassed here.
      */
     @Inject(method = "func_78472_g", at = @At("RETURN"), remap = false)
     private void betaUpdateLightmap(float partialTicks, CallbackInfo ci) {
+        if (BetaGraphicsMod.isLightmapReplacementEnabled()) return;
+        BetaLightmapHelper.invalidate();
         BetaLightmapHelper.generateBetaLightmap();
     }
 
+    /**
+     * Fires at HEAD of updateFogColor (SRG: func_78466_h).
+     * In replacement mode, computes Beta's fog colour and skips vanilla entirely;
+     * the redirect and RETURN inject below are then never reached. The colour
+     * is also written to fogColorRed/Green/Blue for vanilla's setupFogColor.
+     */
+    @Inject(method = "func_78466_h", at = @At("HEAD"), cancellable = true, remap = false)
+    private void betaReplaceFogColor(float partialTicks, CallbackInfo ci) {
+        if (!BetaGraphicsMod.isFogColorReplacementEnabled()) return;
+        BetaFogHelper.updateBetaFogColor((EntityRenderer) (Object) this, partialTicks);
+        ci.cancel();
+    }
+
+    /**
+     * Replaces updateFogColor's GlStateManager.clearColor (SRG: func_179082_a)
+     * call with a CPU-side capture of the colour.
+     */
+    @Redirect(method = "func_78466_h",
+              at = @At(value = "INVOKE",
+                       target = "Lnet/minecraft/client/renderer/GlStateManager;func_179082_a(FFFF)V"),
+              remap = false)
+    private void betaCaptureClearColor(float red, float green, float blue, float alpha) {
+        BetaFogHelper.captureClearColor(red, green, blue, alpha);
+    }
+
     /**
      * Fires before each RETURN in updateFogColor (SRG: func_78466_h).
-     * Multiplies the GL clear colour by Beta's ambient factor, restoring
+     * Multiplies the captured clear colour by Beta's ambient factor, restoring
      * the fogColor1/fogColor2 atmospheric darkening that 1.12.2 removed.
      */
     @Inject(method = "func_78466_h", at = @At("RETURN"), remap = false)
@@ -0,0 +1,40 @@
+package com.michaelsebero.betagraphics.mixin;
+
+import com.michaelsebero.betagraphics.client.BetaFogCullHelper;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.client.particle.ParticleManager;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.entity.Entity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+/**
+ * Mixin targeting ParticleManager to skip particles hidden by opaque Beta fog.
+ *
+ * renderParticles (SRG: func_78874_a) batches every particle of a layer into
+ * one buffer via Particle.renderParticle (SRG: func_180434_a). Redirecting
+ * that call lets fogged particles contribute no vertices, without touching
+ * the layer/texture bookkeeping around it. renderLitParticles is left alone.
+ * See BetaFogCullHelper for the distance test.
+ */
+@Mixin(ParticleManager.class)
+public abstract class MixinParticleManager {
+
+    /**
+     * Replaces each Particle.renderParticle call in renderParticles.
+     */
+    @Redirect(method = "func_78874_a",
+              at = @At(value = "INVOKE",
+                       target = "Lnet/minecraft/client/particle/Particle;func_180434_a("
+                              + "Lnet/minecraft/client/renderer/BufferBuilder;"
+                              + "Lnet/minecraft/entity/Entity;FFFFFF)V"),
+              remap = false)
+    private void betaFogCullParticle(Particle particle, BufferBuilder buffer, Entity entity,
+            float partialTicks, float rotationX, float rotationZ, float rotationYZ,
+            float rotationXY, float rotationXZ) {
+        if (BetaFogCullHelper.shouldCull(particle)) return;
+        particle.renderParticle(buffer, entity, partialTicks,
+            rotationX, rotationZ, rotationYZ, rotationXY, rotationXZ);
+    }
+}
@@ -11,7 +11,8 @@ import org.spongepowered.asm.mixin.Overwrite;
  *
  * Replaces Render.renderShadow with a version that only draws shadow quads
  * where light > 3, matching the hard cutoff in Beta's Render.java line 118.
- * Delegates all logic to BetaShadowHelper.
+ * Delegates all logic to BetaShadowHelper; during the entity pass that only
+ * queues the quads for BetaShadowBatcher's single draw.
  */
 @Mixin(Render.class)
 public abstract class MixinRender<T extends Entity> {
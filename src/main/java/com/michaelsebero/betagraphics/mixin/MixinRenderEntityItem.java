@@ -1,6 +1,7 @@
 package com.michaelsebero.betagraphics.mixin;
 
 import com.michaelsebero.betagraphics.client.BetaItemHelper;
+import com.michaelsebero.betagraphics.client.BetaLightSampler;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
@@ -10,7 +11,6 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.item.ItemBlock;
 import net.minecraft.item.ItemStack;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
@@ -210,10 +210,10 @@ public abstract class MixinRenderEntityItem extends Render<Entity> {
     private static float getBrightnessAt(double worldX, double worldY, double worldZ) {
         Minecraft mc = Minecraft.getMinecraft();
         if (mc == null || mc.world == null) return 1.0F;
-        BlockPos pos = new BlockPos(
+        float brightness = BetaLightSampler.brightness(mc.world,
             MathHelper.floor(worldX),
             MathHelper.floor(worldY),
             MathHelper.floor(worldZ));
-        return MathHelper.clamp(mc.world.getLightBrightness(pos), 0.0F, 1.0F);
+        return MathHelper.clamp(brightness, 0.0F, 1.0F);
     }
 }
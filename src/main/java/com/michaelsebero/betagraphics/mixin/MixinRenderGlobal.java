@@ -0,0 +1,102 @@
+package com.michaelsebero.betagraphics.mixin;
+
+import com.michaelsebero.betagraphics.BetaGraphicsMod;
+import com.michaelsebero.betagraphics.client.BetaCloudRenderer;
+import com.michaelsebero.betagraphics.client.BetaRenderDistanceHelper;
+import com.michaelsebero.betagraphics.client.BetaShadowBatcher;
+import com.michaelsebero.betagraphics.client.BetaSkyRenderer;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.RenderGlobal;
+import net.minecraft.client.renderer.culling.ICamera;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin targeting RenderGlobal.
+ *
+ * Patch 1: setupTerrain — @Redirect (SRG: func_174970_a)
+ *   Every ICamera.isBoundingBoxInFrustum (SRG: func_78546_a) call in the chunk
+ *   flood fill is routed through BetaRenderDistanceHelper.isChunkVisible, which
+ *   rejects chunks hidden by opaque underwater/lava fog before the normal
+ *   frustum test. Rendering and rebuild scheduling both follow the flood fill.
+ *
+ * Patch 2: renderSky(float, int) — HEAD inject, cancellable (SRG: func_174976_a)
+ *   In surface worlds without a custom sky renderer, and outside anaglyph 3D,
+ *   the whole sky pass is drawn by BetaSkyRenderer from cached geometry and
+ *   vanilla's per-frame tessellation (sunrise fan, sun, moon, horizon box) is
+ *   skipped. Other worlds fall through to vanilla untouched.
+ *
+ * Patch 3: renderClouds — HEAD inject, cancellable (SRG: func_180447_b)
+ *   Fast clouds in surface worlds without a custom cloud renderer are drawn by
+ *   BetaCloudRenderer from its cached mesh. Running at HEAD also pre-empts
+ *   Forge's own cloud renderer for that case; fancy clouds are left to it.
+ *
+ * Patch 4: renderEntities — HEAD and RETURN injects (SRG: func_180446_a)
+ *   Brackets each entity pass with BetaShadowBatcher.begin/flush so every
+ *   Beta shadow queued during the pass is drawn in one call at the end.
+ */
+@Mixin(RenderGlobal.class)
+public abstract class MixinRenderGlobal {
+
+    @Redirect(method = "func_174970_a",
+              at = @At(value = "INVOKE",
+                       target = "Lnet/minecraft/client/renderer/culling/ICamera;"
+                              + "func_78546_a(Lnet/minecraft/util/math/AxisAlignedBB;)Z"),
+              remap = false)
+    private boolean betaClampTerrain(ICamera camera, AxisAlignedBB box) {
+        return BetaRenderDistanceHelper.isChunkVisible(camera, box);
+    }
+
+    @Inject(method = "func_174976_a(FI)V", at = @At("HEAD"), cancellable = true, remap = false)
+    private void betaRenderSky(float partialTicks, int pass, CallbackInfo ci) {
+        if (!BetaGraphicsMod.isBetaSkyRendererEnabled()) return;
+        Minecraft mc    = Minecraft.getMinecraft();
+        World     world = mc.world;
+        if (world == null || mc.gameSettings.anaglyph
+                || world.provider.getSkyRenderer() != null
+                || !world.provider.isSurfaceWorld()) {
+            return;
+        }
+        BetaSkyRenderer.render(partialTicks);
+        ci.cancel();
+    }
+
+    @Inject(method = "func_180447_b(FIDDD)V", at = @At("HEAD"), cancellable = true,
+            remap = false)
+    private void betaRenderClouds(float partialTicks, int pass, double x, double y, double z,
+            CallbackInfo ci) {
+        if (!BetaGraphicsMod.isBetaCloudsEnabled()) return;
+        Minecraft mc    = Minecraft.getMinecraft();
+        World     world = mc.world;
+        if (world == null || mc.gameSettings.anaglyph
+                || mc.gameSettings.shouldRenderClouds() != 1
+                || world.provider.getCloudRenderer() != null
+                || !world.provider.isSurfaceWorld()) {
+            return;
+        }
+        BetaCloudRenderer.render((RenderGlobal) (Object) this, partialTicks, x, y, z);
+        ci.cancel();
+    }
+
+    @Inject(method = "func_180446_a(Lnet/minecraft/entity/Entity;"
+                   + "Lnet/minecraft/client/renderer/culling/ICamera;F)V",
+            at = @At("HEAD"), remap = false)
+    private void betaBeginShadowBatch(Entity renderViewEntity, ICamera camera,
+            float partialTicks, CallbackInfo ci) {
+        BetaShadowBatcher.begin();
+    }
+
+    @Inject(method = "func_180446_a(Lnet/minecraft/entity/Entity;"
+                   + "Lnet/minecraft/client/renderer/culling/ICamera;F)V",
+            at = @At("RETURN"), remap = false)
+    private void betaFlushShadowBatch(Entity renderViewEntity, ICamera camera,
+            float partialTicks, CallbackInfo ci) {
+        BetaShadowBatcher.flush();
+    }
+}
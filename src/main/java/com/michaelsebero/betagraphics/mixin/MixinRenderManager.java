@@ -0,0 +1,33 @@
+package com.michaelsebero.betagraphics.mixin;
+
+import com.michaelsebero.betagraphics.client.BetaFogCullHelper;
+import net.minecraft.client.renderer.culling.ICamera;
+import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.entity.Entity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin targeting RenderManager to skip entities hidden by opaque Beta fog.
+ *
+ * RenderManager.shouldRender (SRG: func_178635_a) is the per-entity visibility
+ * test RenderGlobal.renderEntities runs before drawing anything. Returning
+ * false here drops the entity before its renderer, model and shadow run.
+ * See BetaFogCullHelper for the distance test.
+ */
+@Mixin(RenderManager.class)
+public abstract class MixinRenderManager {
+
+    /**
+     * Fires at HEAD of shouldRender (SRG: func_178635_a).
+     */
+    @Inject(method = "func_178635_a", at = @At("HEAD"), cancellable = true, remap = false)
+    private void betaFogCullEntity(Entity entity, ICamera camera, double camX, double camY,
+            double camZ, CallbackInfoReturnable<Boolean> cir) {
+        if (BetaFogCullHelper.shouldCull(entity)) {
+            cir.setReturnValue(false);
+        }
+    }
+}
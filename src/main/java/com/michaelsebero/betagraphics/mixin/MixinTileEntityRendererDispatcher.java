@@ -0,0 +1,33 @@
+package com.michaelsebero.betagraphics.mixin;
+
+import com.michaelsebero.betagraphics.client.BetaFogCullHelper;
+import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
+import net.minecraft.tileentity.TileEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin targeting TileEntityRendererDispatcher to skip tile entity special
+ * renderers (chests, signs, banners, ...) hidden by opaque Beta fog.
+ *
+ * render(TileEntity, float, int) (SRG: func_180546_a) is the entry point
+ * RenderGlobal.renderEntities uses for every visible tile entity.
+ * See BetaFogCullHelper for the distance test.
+ */
+@Mixin(TileEntityRendererDispatcher.class)
+public abstract class MixinTileEntityRendererDispatcher {
+
+    /**
+     * Fires at HEAD of render(TileEntity, float, int) (SRG: func_180546_a).
+     */
+    @Inject(method = "func_180546_a(Lnet/minecraft/tileentity/TileEntity;FI)V",
+            at = @At("HEAD"), cancellable = true, remap = false)
+    private void betaFogCullTileEntity(TileEntity tileEntity, float partialTicks,
+            int destroyStage, CallbackInfo ci) {
+        if (BetaFogCullHelper.shouldCull(tileEntity)) {
+            ci.cancel();
+        }
+    }
+}
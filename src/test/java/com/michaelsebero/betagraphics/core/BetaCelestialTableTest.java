@@ -0,0 +1,115 @@
+package com.michaelsebero.betagraphics.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * BetaCelestialTable against BetaLightModel evaluated directly, for every tick
+ * of the day and a spread of partialTicks values, including the 23999 → 0
+ * wrap.
+ *
+ * skylightSubtracted must match World.calculateSkylightSubtracted(1.0F) bit
+ * for bit; the interpolated brightness and sunrise colour must stay within one
+ * 8-bit colour step of the direct evaluation.
+ */
+public class BetaCelestialTableTest {
+
+    private static final float COLOUR_STEP = 1.0F / 255.0F;
+
+    private static final float[] PARTIAL_TICKS = { 0.0F, 0.25F, 0.5F, 0.75F, 0.999F };
+
+    private static final float[][] WEATHER = {
+        { 0.0F, 0.0F }, { 0.5F, 0.0F }, { 1.0F, 0.0F }, { 1.0F, 0.5F }, { 1.0F, 1.0F }
+    };
+
+    // ── brightness ───────────────────────────────────────────────────────────
+
+    @Test
+    public void brightnessMatchesDirectEvaluation() {
+        for (int t = 0; t < BetaCelestialTable.DAY_TICKS; t++) {
+            for (float pt : PARTIAL_TICKS) {
+                float expected = BetaLightModel.celestialBrightness(
+                    BetaLightModel.celestialAngle(t, pt));
+                assertEquals("tick " + t + " + " + pt, expected,
+                    BetaCelestialTable.brightness(t, pt), COLOUR_STEP);
+            }
+        }
+    }
+
+    // ── sunrise ──────────────────────────────────────────────────────────────
+
+    @Test
+    public void sunriseMatchesDirectEvaluation() {
+        float[] expected = new float[4];
+        float[] actual   = new float[4];
+        for (int t = 0; t < BetaCelestialTable.DAY_TICKS; t++) {
+            for (float pt : PARTIAL_TICKS) {
+                String at = "tick " + t + " + " + pt;
+                boolean direct = BetaLightModel.sunriseColor(
+                    BetaLightModel.celestialAngle(t, pt), expected);
+                boolean table = BetaCelestialTable.sunrise(t, pt, actual);
+
+                if (!direct) {
+                    // Outside the band the table may only be fading the alpha out.
+                    assertTrue(at, !table || actual[3] <= COLOUR_STEP);
+                    continue;
+                }
+                assertTrue(at, table);
+                for (int c = 0; c < 4; c++) {
+                    assertEquals(at + " channel " + c, expected[c], actual[c], COLOUR_STEP);
+                }
+            }
+        }
+    }
+
+    // ── skylightSubtracted ───────────────────────────────────────────────────
+
+    @Test
+    public void skylightSubtractedMatchesBitForBit() {
+        for (int t = 0; t < BetaCelestialTable.DAY_TICKS; t++) {
+            float sun = BetaLightModel.sunFactor(BetaLightModel.celestialAngle(t, 1.0F));
+            for (float[] w : WEATHER) {
+                float f = sun;
+                f = (float) ((double) f * (1.0D - (double) (w[0] * 5.0F) / 16.0D));
+                f = (float) ((double) f * (1.0D - (double) (w[1] * 5.0F) / 16.0D));
+                int expected = (int) ((1.0F - f) * 11.0F);
+                assertEquals("tick " + t, expected,
+                    BetaCelestialTable.skylightSubtracted(t, w[0], w[1]));
+            }
+        }
+    }
+
+    // ── Wrapping ─────────────────────────────────────────────────────────────
+
+    @Test
+    public void lastTickInterpolatesIntoTheNextDay() {
+        for (float pt : PARTIAL_TICKS) {
+            float expected = BetaLightModel.celestialBrightness(
+                BetaLightModel.celestialAngle(23999L, pt));
+            assertEquals(expected, BetaCelestialTable.brightness(23999L, pt), COLOUR_STEP);
+        }
+        // 23999 + 1.0 is tick 0 of the next day.
+        assertEquals(BetaCelestialTable.brightness(0L, 0.0F),
+                     BetaCelestialTable.brightness(23999L, 1.0F), 1.0e-6F);
+        // skylightSubtracted at tick 23999 reads the table entry for tick 0.
+        int expected = (int) ((1.0F - BetaLightModel.sunFactor(
+            BetaLightModel.celestialAngle(0L, 0.0F))) * 11.0F);
+        assertEquals(expected, BetaCelestialTable.skylightSubtracted(23999L, 0.0F, 0.0F));
+        assertEquals(expected, BetaCelestialTable.skylightSubtracted(-1L, 0.0F, 0.0F));
+    }
+
+    @Test
+    public void wholeDaysAndNegativeTimesWrap() {
+        long day = BetaCelestialTable.DAY_TICKS;
+        for (int t = 0; t < BetaCelestialTable.DAY_TICKS; t += 250) {
+            assertEquals(BetaCelestialTable.brightness(t, 0.5F),
+                         BetaCelestialTable.brightness(t + day * 7L, 0.5F), 0.0F);
+            assertEquals(BetaCelestialTable.brightness(t, 0.5F),
+                         BetaCelestialTable.brightness(t - day * 3L, 0.5F), 0.0F);
+            assertEquals(BetaCelestialTable.skylightSubtracted(t, 0.0F, 0.0F),
+                         BetaCelestialTable.skylightSubtracted(t - day, 0.0F, 0.0F));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.michaelsebero.betagraphics.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Golden values for BetaLightModel against Beta 1.7.3b.
+ *
+ * Expected numbers were computed outside the mod from the Beta 1.7.3b source
+ * formulas quoted in each kernel's doc (WorldProvider,
+ * BiomeGenBase.getSkyColorByTemp, EntityRenderer), in float arithmetic for the
+ * table and colour maths and with Math.cos for the celestial curve. The
+ * brightness table uses the mod's 0.1 ambient floor (BETA_AMBIENT).
+ *
+ * Trigonometric kernels go through MathHelper's 65536-entry sine table, so
+ * they are compared with TRIG_DELTA; everything else must match to float
+ * precision.
+ */
+public class BetaLightModelTest {
+
+    private static final float DELTA      = 1.0e-6F;
+    private static final float TRIG_DELTA = 5.0e-4F;
+
+    // ── fillBrightnessTable ──────────────────────────────────────────────────
+
+    @Test
+    public void brightnessTableMatchesBeta() {
+        float[] table = new float[16];
+        BetaLightModel.fillBrightnessTable(table);
+
+        assertEquals(0.1F,        table[0],  DELTA);
+        assertEquals(0.11578947F, table[1],  DELTA);
+        assertEquals(0.26153848F, table[7],  DELTA);
+        assertEquals(0.3F,        table[8],  DELTA);
+        assertEquals(1.0F,        table[15], DELTA);
+    }
+
+    @Test
+    public void brightnessTableIsMonotonic() {
+        float[] table = new float[16];
+        BetaLightModel.fillBrightnessTable(table);
+        for (int i = 1; i < 16; i++) {
+            assertTrue("entry " + i + " must exceed entry " + (i - 1), table[i] > table[i - 1]);
+        }
+    }
+
+    // ── lightmapPixel ────────────────────────────────────────────────────────
+
+    @Test
+    public void lightmapPixelPacksOpaqueGrey() {
+        assertEquals(0xFF000000, BetaLightModel.lightmapPixel(0.0F));
+        assertEquals(0xFF7F7F7F, BetaLightModel.lightmapPixel(0.5F));
+        assertEquals(0xFFFFFFFF, BetaLightModel.lightmapPixel(1.0F));
+        // Brightness table entries: light 0 and light 8.
+        assertEquals(0xFF191919, BetaLightModel.lightmapPixel(0.1F));
+        assertEquals(0xFF4C4C4C, BetaLightModel.lightmapPixel(0.3F));
+    }
+
+    @Test
+    public void lightmapPixelClampsOutOfRange() {
+        assertEquals(0xFF000000, BetaLightModel.lightmapPixel(-1.0F));
+        assertEquals(0xFFFFFFFF, BetaLightModel.lightmapPixel(1.5F));
+    }
+
+    // ── ambientDarkenStep ────────────────────────────────────────────────────
+
+    @Test
+    public void ambientDarkenStepIsBetaFogColor1Lerp() {
+        // fogColor1 += (ambient - fogColor1) * 0.1F
+        assertEquals(0.91F, BetaLightModel.ambientDarkenStep(1.0F, 0.1F), DELTA);
+        assertEquals(0.19F, BetaLightModel.ambientDarkenStep(0.1F, 1.0F), DELTA);
+        assertEquals(0.5F,  BetaLightModel.ambientDarkenStep(0.5F, 0.5F), DELTA);
+    }
+
+    // ── skyBaseColor ─────────────────────────────────────────────────────────
+
+    @Test
+    public void skyBaseColorMatchesGetSkyColorByTemp() {
+        assertEquals(0xFF79A7FF, BetaLightModel.skyBaseColor(0.8F));  // plains
+        assertEquals(0xFF6FB2FF, BetaLightModel.skyBaseColor(2.0F));  // desert
+        assertEquals(0xFF7BA5FF, BetaLightModel.skyBaseColor(0.5F));  // forest
+        assertEquals(0xFF80A2FF, BetaLightModel.skyBaseColor(0.0F));  // tundra
+        assertEquals(0xFF849EFF, BetaLightModel.skyBaseColor(-0.5F));
+    }
+
+    @Test
+    public void skyBaseColorClampsTemperature() {
+        // temperature / 3 is clamped to [-1, 1].
+        assertEquals(BetaLightModel.skyBaseColor(3.0F),  BetaLightModel.skyBaseColor(9.0F));
+        assertEquals(BetaLightModel.skyBaseColor(-3.0F), BetaLightModel.skyBaseColor(-9.0F));
+    }
+
+    // ── skyColor ─────────────────────────────────────────────────────────────
+
+    @Test
+    public void skyColorAtNoonIsTheBaseColour() {
+        float[] out = new float[3];
+        BetaLightModel.skyColor(0xFF79A7FF, 1.0F, 0.0F, 0.0F, out);
+        assertArrayEquals(new float[]{ 0.4745098F, 0.654902F, 1.0F }, out, DELTA);
+    }
+
+    @Test
+    public void skyColorAtMidnightKeepsTheFloor() {
+        float[] out = new float[3];
+        BetaLightModel.skyColor(0xFF79A7FF, 0.0F, 0.0F, 0.0F, out);
+        assertArrayEquals(new float[]{ 0.028470589F, 0.03929412F, 0.09F }, out, DELTA);
+    }
+
+    @Test
+    public void skyColorAppliesRainThenThunder() {
+        float[] out = new float[3];
+        BetaLightModel.skyColor(0xFF79A7FF, 1.0F, 1.0F, 0.0F, out);
+        assertArrayEquals(new float[]{ 0.2372549F, 0.327451F, 0.8F }, out, DELTA);
+
+        BetaLightModel.skyColor(0xFF79A7FF, 1.0F, 1.0F, 1.0F, out);
+        assertArrayEquals(new float[]{ 0.11862745F, 0.1637255F, 0.4F }, out, DELTA);
+    }
+
+    // ── celestialAngle / celestialBrightness ─────────────────────────────────
+
+    @Test
+    public void celestialAngleMatchesCalculateCelestialAngle() {
+        assertEquals(0.7845178F,  BetaLightModel.celestialAngle(0L,     0.0F), DELTA);
+        assertEquals(0.0F,        BetaLightModel.celestialAngle(6000L,  0.0F), DELTA);
+        assertEquals(0.21548219F, BetaLightModel.celestialAngle(12000L, 0.0F), DELTA);
+        assertEquals(0.5F,        BetaLightModel.celestialAngle(18000L, 0.0F), DELTA);
+        // Whole days and negative times wrap.
+        assertEquals(BetaLightModel.celestialAngle(6000L, 0.0F),
+                     BetaLightModel.celestialAngle(6000L + 24000L * 5L, 0.0F), DELTA);
+        assertEquals(BetaLightModel.celestialAngle(18000L, 0.0F),
+                     BetaLightModel.celestialAngle(-6000L, 0.0F), DELTA);
+    }
+
+    @Test
+    public void celestialBrightnessFollowsTheDay() {
+        assertEquals(1.0F,       BetaLightModel.celestialBrightness(0.0F),        TRIG_DELTA);
+        assertEquals(0.0F,       BetaLightModel.celestialBrightness(0.5F),        TRIG_DELTA);
+        assertEquals(0.5F,       BetaLightModel.celestialBrightness(0.25F),       TRIG_DELTA);
+        assertEquals(0.9303712F, BetaLightModel.celestialBrightness(0.7845178F),  TRIG_DELTA);
+        assertEquals(0.9303710F, BetaLightModel.celestialBrightness(0.21548219F), TRIG_DELTA);
+    }
+
+    // ── fogDistanceBlend ─────────────────────────────────────────────────────
+
+    @Test
+    public void fogDistanceBlendUsesBetaRenderDistanceSteps() {
+        assertEquals(0.29289323F, BetaLightModel.fogDistanceBlend(32), DELTA);  // Far
+        assertEquals(0.29289323F, BetaLightModel.fogDistanceBlend(16), DELTA);  // Far
+        assertEquals(0.24016431F, BetaLightModel.fogDistanceBlend(8),  DELTA);  // Normal
+        assertEquals(0.15910359F, BetaLightModel.fogDistanceBlend(4),  DELTA);  // Short
+        assertEquals(0.0F,        BetaLightModel.fogDistanceBlend(2),  DELTA);  // Tiny
+    }
+
+    // ── tentWeight ───────────────────────────────────────────────────────────
+
+    @Test
+    public void tentWeightFallsLinearlyToZero() {
+        assertEquals(1.0F, BetaLightModel.tentWeight(0.0D,   40.0D), DELTA);
+        assertEquals(0.5F, BetaLightModel.tentWeight(-20.0D, 40.0D), DELTA);
+        assertEquals(0.0F, BetaLightModel.tentWeight(40.0D,  40.0D), DELTA);
+        assertEquals(0.0F, BetaLightModel.tentWeight(56.0D,  40.0D), DELTA);
+    }
+
+    @Test
+    public void skyBlendColumnsCrossTheGridEdgeWithZeroWeight() {
+        int    half   = 2;
+        double radius = BetaLightModel.chunkGridBlendRadius(half);
+        assertEquals(40.0D, radius, 0.0D);
+
+        // Player on the boundary between chunk 0 and chunk 1: column -half
+        // leaves the grid and column half + 1 enters it.
+        double x = 16.0D;
+        assertEquals(0.0F, BetaLightModel.tentWeight(-half * 16 + 8 - x, radius), 0.0F);
+        assertEquals(0.0F, BetaLightModel.tentWeight((half + 1) * 16 + 8 - x, radius), 0.0F);
+
+        // Strictly inside chunk 0, every column of its grid has positive weight.
+        for (double px = 0.25D; px < 16.0D; px += 0.25D) {
+            for (int dx = -half; dx <= half; dx++) {
+                assertTrue(BetaLightModel.tentWeight(dx * 16 + 8 - px, radius) > 0.0F);
+            }
+        }
+    }
+}